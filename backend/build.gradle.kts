@@ -1,6 +1,8 @@
 plugins {
     id("org.springframework.boot") version "3.5.0"
     id("io.spring.dependency-management") version "1.1.5"
+    // Microbenchmarks en src/jmh/java: ./gradlew jmh
+    id("me.champeau.jmh") version "0.7.3"
     java
 }
 
@@ -17,9 +19,19 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+
+    // Codificaciones binarias negociables vía Accept (CBOR / Smile)
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
     
     implementation("org.flywaydb:flyway-core")
 
+    // Caché de segundo nivel (JCache + Caffeine) y métricas de Hibernate
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    runtimeOnly("com.github.ben-manes.caffeine:jcache")
+
     runtimeOnly("org.postgresql:postgresql")
     implementation("org.flywaydb:flyway-database-postgresql")
 
@@ -30,4 +42,20 @@ dependencies {
     testAnnotationProcessor("org.projectlombok:lombok")
     
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+// Vector API (módulo incubadora en Java 21) para el kernel de intensidad (stats/VectorIntensityKernel).
+// Al arrancar el jar: java --add-modules jdk.incubator.vector -jar ...; sin él se usa el kernel escalar.
+val vectorModule = "--add-modules=jdk.incubator.vector"
+
+tasks.withType<JavaCompile> { options.compilerArgs.add(vectorModule) }
+tasks.withType<JavaExec> { jvmArgs(vectorModule) }
+tasks.withType<Test> {
+    useJUnitPlatform()
+    jvmArgs(vectorModule)
+}
+
+jmh {
+    jvmArgsAppend.add(vectorModule)
 }
@@ -0,0 +1,107 @@
+package com.csindila.hyron.samples;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bloques comprimidos (SampleCodec) frente a una fila por muestra, sin base de datos.
+ * - encode / decode: un bloque de CHUNK_SIZE muestras (ops/s × 600 = muestras/s).
+ * - rows: mismo agregado recorriendo una fila (Object[]) por muestra, como llegaría
+ *   de un SELECT de una tabla (workout_id, channel, t, value).
+ * El tamaño se imprime al preparar cada canal: bytes por muestra del bloque frente
+ * a la fila estimada en Postgres (cabecera 24 + puntero 4 + uuid 16 + canal 4 +
+ * t 4 + valor 4 = 56 bytes, sin contar el índice).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SampleCodecBenchmark {
+
+    private static final int ROW_BYTES = 56;
+
+    // hr: paseo suave con huecos; power: saltos grandes; pace: casi constante
+    @Param({ "hr", "power", "pace" })
+    public String channel;
+
+    private List<Integer> values;
+    private byte[] encoded;
+    private int[] decoded;
+    private List<Object[]> rows;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int n = SamplesService.CHUNK_SIZE;
+        var rnd = new Random(31);
+        values = new ArrayList<>(n);
+        int v = switch (channel) {
+            case "power" -> 200;
+            case "pace" -> 300;
+            default -> 140;
+        };
+        for (int i = 0; i < n; i++) {
+            if (rnd.nextInt(50) == 0) {
+                values.add(null);
+                continue;
+            }
+            v = switch (channel) {
+                case "power" -> Math.max(0, 200 + (int) (rnd.nextGaussian() * 60));
+                case "pace" -> Math.max(0, v + rnd.nextInt(3) - 1);
+                default -> Math.max(0, v + rnd.nextInt(5) - 2);
+            };
+            values.add(v);
+        }
+        encoded = SampleCodec.encode(values, 0, n);
+        decoded = new int[n];
+
+        rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            if (values.get(i) != null)
+                rows.add(new Object[] { i, values.get(i) });
+        }
+
+        System.out.printf("%n[%s] bloque: %d bytes (%.2f B/muestra); fila por muestra: ~%d bytes (%d B/muestra)%n",
+                channel, encoded.length, (double) encoded.length / n, (long) rows.size() * ROW_BYTES, ROW_BYTES);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return SampleCodec.encode(values, 0, values.size());
+    }
+
+    @Benchmark
+    public long decode() {
+        SampleCodec.decode(encoded, decoded.length, decoded);
+        long sum = 0;
+        for (int x : decoded) {
+            if (x != SampleCodec.MISSING)
+                sum += x;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long rows() {
+        long sum = 0;
+        for (Object[] r : rows)
+            sum += ((Number) r[1]).intValue();
+        return sum;
+    }
+}
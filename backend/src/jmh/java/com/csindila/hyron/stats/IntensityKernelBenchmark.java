@@ -0,0 +1,79 @@
+package com.csindila.hyron.stats;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kernel escalar frente a vectorial sobre decenas de millones de sesiones
+ * (un 10-30 % sin FC, clasificadas por RPE).
+ * - classify: sólo la clasificación (la parte vectorizada).
+ * - classifyAndFold: clasificación + reparto en semanas de ~10 sesiones, como IntensityService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g" })
+public class IntensityKernelBenchmark {
+
+    private static final int SESSIONS_PER_WEEK = 10;
+
+    @Param({ "10000000", "30000000" })
+    public int sessions;
+
+    @Param({ "scalar", "vector" })
+    public String kernel;
+
+    private IntensityKernel k;
+    private final IntensityZones zones = new IntensityZones(150, 170, 4, 7);
+    private int[] dur, hr, rpe, zone;
+    private final long[] out = new long[IntensityKernel.OUT_SIZE];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        k = "vector".equals(kernel) ? new VectorIntensityKernel() : new ScalarIntensityKernel();
+        var rnd = new Random(34);
+        dur = new int[sessions];
+        hr = new int[sessions];
+        rpe = new int[sessions];
+        zone = new int[sessions];
+        for (int i = 0; i < sessions; i++) {
+            dur[i] = 1800 + rnd.nextInt(3 * 3600);
+            hr[i] = rnd.nextInt(5) == 0 ? 0 : 110 + rnd.nextInt(80);
+            rpe[i] = 1 + rnd.nextInt(10);
+        }
+    }
+
+    @Benchmark
+    public int[] classify() {
+        k.classify(hr, rpe, 0, sessions, zones, zone);
+        return zone;
+    }
+
+    @Benchmark
+    public long classifyAndFold() {
+        k.classify(hr, rpe, 0, sessions, zones, zone);
+        long easy = 0;
+        for (int from = 0; from < sessions; from += SESSIONS_PER_WEEK) {
+            Arrays.fill(out, 0);
+            IntensityKernel.fold(dur, zone, from, Math.min(sessions, from + SESSIONS_PER_WEEK), out);
+            easy += out[0];
+        }
+        return easy;
+    }
+}
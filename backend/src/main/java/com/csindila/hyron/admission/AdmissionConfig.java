@@ -0,0 +1,33 @@
+package com.csindila.hyron.admission;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(prefix = "hyron.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final AdmissionProperties props;
+    private final MeterRegistry registry;
+
+    public AdmissionConfig(AdmissionProperties props, MeterRegistry registry) {
+        this.props = props;
+        this.registry = registry;
+    }
+
+    // Un limitador (e interceptor) por endpoint configurado
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        props.getEndpoints().forEach((name, cfg) -> {
+            var limiter = new AdmissionLimiter(name, cfg, registry);
+            interceptors.addInterceptor(new AdmissionInterceptor(name, limiter, cfg))
+                    .addPathPatterns(cfg.getPath());
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package com.csindila.hyron.admission;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admite o rechaza una petición GET antes de que llegue al controller.
+ * Si no hay hueco ni sitio en la cola responde 429; si la espera vence, 503.
+ * Ambos con Retry-After, sin ocupar el pool de Hikari.
+ */
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String COST_ATTR = AdmissionInterceptor.class.getName() + ".cost";
+
+    private final String name;
+    private final AdmissionLimiter limiter;
+    private final AdmissionProperties.Endpoint cfg;
+
+    public AdmissionInterceptor(String name, AdmissionLimiter limiter, AdmissionProperties.Endpoint cfg) {
+        this.name = name;
+        this.limiter = limiter;
+        this.cfg = cfg;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        int cost = limiter.cost(rangeDays(request));
+        AdmissionLimiter.Decision decision;
+        try {
+            decision = limiter.acquire(cost);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            decision = AdmissionLimiter.Decision.TIMED_OUT;
+        }
+
+        if (decision == AdmissionLimiter.Decision.ADMITTED) {
+            request.setAttribute(COST_ATTR, cost);
+            return true;
+        }
+        var status = decision == AdmissionLimiter.Decision.QUEUE_FULL
+                ? HttpStatus.TOO_MANY_REQUESTS
+                : HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, cfg.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Servidor ocupado, reintenta más tarde\",\"endpoint\":\"" + name + "\"}");
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        var cost = request.getAttribute(COST_ATTR);
+        if (cost != null) {
+            request.removeAttribute(COST_ATTR);
+            limiter.release((Integer) cost);
+        }
+    }
+
+    // Mismo criterio que los services: to = hoy, from = to - defaultRangeDays
+    private long rangeDays(HttpServletRequest request) {
+        try {
+            var toParam = request.getParameter("to");
+            var fromParam = request.getParameter("from");
+            LocalDate to = (toParam == null) ? LocalDate.now() : LocalDate.parse(toParam);
+            LocalDate from = (fromParam == null) ? to.minusDays(cfg.getDefaultRangeDays()) : LocalDate.parse(fromParam);
+            return Math.abs(ChronoUnit.DAYS.between(from, to)) + 1;
+        } catch (DateTimeParseException ex) {
+            return 1; // el controller responderá el error de formato
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.csindila.hyron.admission;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limitador por endpoint: semáforo ponderado por coste + cola acotada.
+ * Una petición barata ocupa 1 unidad; un rango de varios años ocupa varias
+ * (como mucho toda la capacidad, así nunca se bloquea para siempre).
+ */
+public class AdmissionLimiter {
+
+    public enum Decision {
+        ADMITTED, QUEUE_FULL, TIMED_OUT
+    }
+
+    private final int capacity;
+    private final int maxQueue;
+    private final Duration maxWait;
+    private final int daysPerUnit;
+
+    // Justo: una petición grande en cola no queda adelantada indefinidamente
+    // (también la vía rápida usa tryAcquire con espera 0, que respeta la cola)
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter queuedTotal;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+    private final Counter rejectedInterrupted;
+
+    public AdmissionLimiter(String name, AdmissionProperties.Endpoint cfg, MeterRegistry registry) {
+        this.capacity = Math.max(1, cfg.getCapacity());
+        this.maxQueue = Math.max(0, cfg.getMaxQueue());
+        this.maxWait = cfg.getMaxWait();
+        this.daysPerUnit = Math.max(1, cfg.getDaysPerUnit());
+        this.permits = new Semaphore(capacity, true);
+
+        this.queuedTotal = Counter.builder("hyron.admission.queued")
+                .description("Peticiones que tuvieron que esperar turno")
+                .tag("endpoint", name).register(registry);
+        this.rejectedQueueFull = Counter.builder("hyron.admission.rejected")
+                .tag("endpoint", name).tag("reason", "queue_full").register(registry);
+        this.rejectedTimeout = Counter.builder("hyron.admission.rejected")
+                .tag("endpoint", name).tag("reason", "timeout").register(registry);
+        this.rejectedInterrupted = Counter.builder("hyron.admission.rejected")
+                .tag("endpoint", name).tag("reason", "interrupted").register(registry);
+        Gauge.builder("hyron.admission.queue.size", queued, AtomicInteger::get)
+                .tag("endpoint", name).register(registry);
+        Gauge.builder("hyron.admission.inflight.cost", permits, p -> capacity - p.availablePermits())
+                .tag("endpoint", name).register(registry);
+    }
+
+    // Coste en unidades para un rango de "days" días: [1, capacity]
+    public int cost(long days) {
+        long units = (Math.max(1, days) + daysPerUnit - 1) / daysPerUnit;
+        return (int) Math.min(capacity, Math.max(1, units));
+    }
+
+    // Una interrupción cuenta como rechazo (reason=interrupted) y se propaga
+    public Decision acquire(int cost) throws InterruptedException {
+        try {
+            return tryAdmit(cost);
+        } catch (InterruptedException ex) {
+            rejectedInterrupted.increment();
+            throw ex;
+        }
+    }
+
+    private Decision tryAdmit(int cost) throws InterruptedException {
+        // tryAcquire(cost) sin plazo se saltaría a los que esperan en el semáforo justo
+        if (permits.tryAcquire(cost, 0, TimeUnit.MILLISECONDS)) {
+            return Decision.ADMITTED;
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            rejectedQueueFull.increment();
+            return Decision.QUEUE_FULL;
+        }
+        queuedTotal.increment();
+        try {
+            if (permits.tryAcquire(cost, maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                return Decision.ADMITTED;
+            }
+            rejectedTimeout.increment();
+            return Decision.TIMED_OUT;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release(int cost) {
+        permits.release(cost);
+    }
+}
@@ -0,0 +1,38 @@
+package com.csindila.hyron.admission;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hyron.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    // Clave = nombre lógico del endpoint (se usa como tag en las métricas)
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+        private String path;
+        // Unidades de coste en vuelo a la vez (cada petición usa >= 1 conexión)
+        private int capacity = 3;
+        // Peticiones que pueden esperar turno; por encima -> 429
+        private int maxQueue = 12;
+        // Espera máxima en cola; si vence -> 503
+        private Duration maxWait = Duration.ofSeconds(2);
+        // Rango que aplica el service cuando falta "from" (para estimar el coste)
+        private int defaultRangeDays = 28;
+        // Días de rango que cuestan una unidad
+        private int daysPerUnit = 365;
+        private Duration retryAfter = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,169 @@
+package com.csindila.hyron.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Empaquetado de una temporada archivada: workouts y estaciones en binario
+ * (campos nulos con marca de presencia) dentro de un gzip.
+ */
+public final class ArchiveCodec {
+
+    private static final int VERSION = 1;
+
+    public record ArchivedWorkout(UUID id, LocalDate date, String type, int durationSec, BigDecimal distanceKm,
+            int rpe, Integer fcMedia, Integer wattsMedios, String notas, Instant createdAt) {
+    }
+
+    public record ArchivedStation(UUID id, UUID workoutId, String station, BigDecimal pesoKg, Integer series,
+            Integer reps, Integer tiempoParcialSeg, Integer distanceM, String notas, Instant createdAt) {
+    }
+
+    public record Season(List<ArchivedWorkout> workouts, List<ArchivedStation> stations) {
+    }
+
+    private ArchiveCodec() {
+    }
+
+    public static byte[] encode(Season season) {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeByte(VERSION);
+            out.writeInt(season.workouts().size());
+            for (var w : season.workouts()) {
+                writeUuid(out, w.id());
+                out.writeInt((int) w.date().toEpochDay());
+                out.writeUTF(w.type());
+                out.writeInt(w.durationSec());
+                writeDecimal(out, w.distanceKm());
+                out.writeByte(w.rpe());
+                writeInt(out, w.fcMedia());
+                writeInt(out, w.wattsMedios());
+                writeString(out, w.notas());
+                writeInstant(out, w.createdAt());
+            }
+            out.writeInt(season.stations().size());
+            for (var s : season.stations()) {
+                writeUuid(out, s.id());
+                writeUuid(out, s.workoutId());
+                out.writeUTF(s.station());
+                writeDecimal(out, s.pesoKg());
+                writeInt(out, s.series());
+                writeInt(out, s.reps());
+                writeInt(out, s.tiempoParcialSeg());
+                writeInt(out, s.distanceM());
+                writeString(out, s.notas());
+                writeInstant(out, s.createdAt());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Season decode(byte[] payload) {
+        try (var in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(payload)))) {
+            int version = in.readUnsignedByte();
+            if (version != VERSION)
+                throw new IllegalStateException("Versión de bloque archivado desconocida: " + version);
+
+            int nw = in.readInt();
+            var workouts = new ArrayList<ArchivedWorkout>(nw);
+            for (int i = 0; i < nw; i++) {
+                workouts.add(new ArchivedWorkout(
+                        readUuid(in),
+                        LocalDate.ofEpochDay(in.readInt()),
+                        in.readUTF(),
+                        in.readInt(),
+                        readDecimal(in),
+                        in.readUnsignedByte(),
+                        readInt(in),
+                        readInt(in),
+                        readString(in),
+                        readInstant(in)));
+            }
+            int ns = in.readInt();
+            var stations = new ArrayList<ArchivedStation>(ns);
+            for (int i = 0; i < ns; i++) {
+                stations.add(new ArchivedStation(
+                        readUuid(in),
+                        readUuid(in),
+                        in.readUTF(),
+                        readDecimal(in),
+                        readInt(in),
+                        readInt(in),
+                        readInt(in),
+                        readInt(in),
+                        readString(in),
+                        readInstant(in)));
+            }
+            return new Season(workouts, stations);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Helpers (nulos: byte 0/1 de presencia delante del valor)
+
+    private static void writeUuid(DataOutputStream out, UUID v) throws IOException {
+        out.writeLong(v.getMostSignificantBits());
+        out.writeLong(v.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeInt(DataOutputStream out, Integer v) throws IOException {
+        out.writeBoolean(v != null);
+        if (v != null)
+            out.writeInt(v);
+    }
+
+    private static Integer readInt(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal v) throws IOException {
+        writeString(out, v == null ? null : v.toPlainString());
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        var s = readString(in);
+        return s == null ? null : new BigDecimal(s);
+    }
+
+    private static void writeString(DataOutputStream out, String v) throws IOException {
+        out.writeBoolean(v != null);
+        if (v != null)
+            out.writeUTF(v);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant v) throws IOException {
+        out.writeBoolean(v != null);
+        if (v != null) {
+            out.writeLong(v.getEpochSecond());
+            out.writeInt(v.getNano());
+        }
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.csindila.hyron.archive;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+
+    private final ArchiveService service;
+
+    public ArchiveController(ArchiveService service) {
+        this.service = service;
+    }
+
+    // Bloques archivados y temporadas pendientes de archivar
+    @GetMapping
+    public Map<String, Object> status() {
+        return service.status();
+    }
+
+    // Archiva todas las temporadas fuera de la ventana caliente
+    @PostMapping("/run")
+    public List<Map<String, Object>> run() {
+        return service.archiveEligible();
+    }
+
+    @PostMapping("/{season}")
+    public Map<String, Object> archive(@PathVariable int season) {
+        return service.archiveSeason(season);
+    }
+
+    @PostMapping("/{season}/restore")
+    public Map<String, Object> restore(@PathVariable int season) {
+        return service.restoreSeason(season);
+    }
+}
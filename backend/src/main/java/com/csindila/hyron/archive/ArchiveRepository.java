@@ -0,0 +1,359 @@
+package com.csindila.hyron.archive;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.csindila.hyron.archive.ArchiveCodec.ArchivedStation;
+import com.csindila.hyron.archive.ArchiveCodec.ArchivedWorkout;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class ArchiveRepository {
+
+  @PersistenceContext
+  private EntityManager em;
+
+  // Sólo para las inserciones en lote de la restauración (tipos explícitos en los null)
+  private final JdbcTemplate jdbc;
+
+  public ArchiveRepository(JdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  // Temporadas anteriores a cutoffSeason con filas archivables (sin muestras) y sin
+  // bloque todavía; una temporada en la que todo tiene muestras no queda pendiente
+  public List<Integer> archivableSeasons(int cutoffSeason) {
+    @SuppressWarnings("unchecked")
+    List<Number> rows = em.createNativeQuery("""
+        SELECT DISTINCT CAST(EXTRACT(YEAR FROM w.date) AS integer)
+        FROM workouts w
+        WHERE w.date < make_date(:cutoff, 1, 1)
+          AND NOT EXISTS (SELECT 1 FROM workout_sample_series ss WHERE ss.workout_id = w.id)
+          AND NOT EXISTS (
+            SELECT 1 FROM season_archive_blocks b
+            WHERE b.season = CAST(EXTRACT(YEAR FROM w.date) AS integer))
+        ORDER BY 1
+        """).setParameter("cutoff", cutoffSeason).getResultList();
+    return rows.stream().map(Number::intValue).toList();
+  }
+
+  public boolean hasBlock(int season) {
+    return !em.createNativeQuery("SELECT 1 FROM season_archive_blocks WHERE season = :s")
+        .setParameter("s", season).getResultList().isEmpty();
+  }
+
+  public List<Map<String, Object>> blocks() {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = em.createNativeQuery("""
+        SELECT season, workout_count, station_count, octet_length(payload), archived_at
+        FROM season_archive_blocks
+        ORDER BY season
+        """).getResultList();
+    var out = new ArrayList<Map<String, Object>>();
+    for (Object[] r : rows) {
+      var m = new HashMap<String, Object>();
+      m.put("season", ((Number) r[0]).intValue());
+      m.put("workouts", ((Number) r[1]).intValue());
+      m.put("stations", ((Number) r[2]).intValue());
+      m.put("bytes", ((Number) r[3]).longValue());
+      m.put("archivedAt", r[4]);
+      out.add(m);
+    }
+    return out;
+  }
+
+  // --- Archivar (todo dentro de una transacción) ---
+
+  // Fija los ids a archivar en una tabla temporal: la misma foto sirve para plegar,
+  // empaquetar y borrar. Los workouts con series de muestras se quedan en caliente
+  // (el borrado en cascada se llevaría las muestras).
+  // Workouts y estaciones quedan bloqueados (FOR UPDATE) hasta el commit: una estación
+  // o serie nueva espera al FOR KEY SHARE de su FK y no se pierde en la cascada, y
+  // nadie modifica filas ya leídas para el bloque.
+  public int selectSeason(int season) {
+    em.createNativeQuery("CREATE TEMP TABLE IF NOT EXISTS archive_ids (id UUID PRIMARY KEY) ON COMMIT DROP")
+        .executeUpdate();
+    em.createNativeQuery("TRUNCATE archive_ids").executeUpdate();
+    em.createNativeQuery("""
+        INSERT INTO archive_ids (id)
+        SELECT w.id
+        FROM workouts w
+        WHERE w.date >= make_date(:s, 1, 1) AND w.date < make_date(:s + 1, 1, 1)
+          AND NOT EXISTS (SELECT 1 FROM workout_sample_series ss WHERE ss.workout_id = w.id)
+        FOR UPDATE OF w
+        """).setParameter("s", season).executeUpdate();
+    em.createNativeQuery("""
+        SELECT 1
+        FROM hyrox_station_entries e
+        JOIN archive_ids a ON a.id = e.workout_id
+        FOR UPDATE OF e
+        """).getResultList();
+    // Series confirmadas entre la foto y el bloqueo (ya con el workout bloqueado no entran más)
+    em.createNativeQuery("""
+        DELETE FROM archive_ids a
+        WHERE EXISTS (SELECT 1 FROM workout_sample_series ss WHERE ss.workout_id = a.id)
+        """).executeUpdate();
+    return ((Number) em.createNativeQuery("SELECT COUNT(*) FROM archive_ids").getSingleResult()).intValue();
+  }
+
+  public List<ArchivedWorkout> selectedWorkouts() {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = em.createNativeQuery("""
+        SELECT w.id, w.date, w.type, w.duration_sec, w.distance_km, w.rpe, w.fc_media, w.watts_medios,
+               w.notas, w.created_at
+        FROM workouts w
+        JOIN archive_ids a ON a.id = w.id
+        ORDER BY w.date, w.created_at, w.id
+        """).getResultList();
+    var out = new ArrayList<ArchivedWorkout>(rows.size());
+    for (Object[] r : rows) {
+      out.add(new ArchivedWorkout(
+          (UUID) r[0],
+          toLocalDate(r[1]),
+          (String) r[2],
+          ((Number) r[3]).intValue(),
+          toDecimal(r[4]),
+          ((Number) r[5]).intValue(),
+          r[6] == null ? null : ((Number) r[6]).intValue(),
+          r[7] == null ? null : ((Number) r[7]).intValue(),
+          (String) r[8],
+          toInstant(r[9])));
+    }
+    return out;
+  }
+
+  public List<ArchivedStation> selectedStations() {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = em.createNativeQuery("""
+        SELECT e.id, e.workout_id, e.station::text, e.peso_kg, e.series, e.reps, e.tiempo_parcial_seg,
+               e.distance_m, e.notas, e.created_at
+        FROM hyrox_station_entries e
+        JOIN archive_ids a ON a.id = e.workout_id
+        ORDER BY e.workout_id, e.created_at, e.id
+        """).getResultList();
+    var out = new ArrayList<ArchivedStation>(rows.size());
+    for (Object[] r : rows) {
+      out.add(new ArchivedStation(
+          (UUID) r[0],
+          (UUID) r[1],
+          (String) r[2],
+          toDecimal(r[3]),
+          r[4] == null ? null : ((Number) r[4]).intValue(),
+          r[5] == null ? null : ((Number) r[5]).intValue(),
+          r[6] == null ? null : ((Number) r[6]).intValue(),
+          r[7] == null ? null : ((Number) r[7]).intValue(),
+          (String) r[8],
+          toInstant(r[9])));
+    }
+    return out;
+  }
+
+  // Pliega lo seleccionado en los agregados diarios (mismas fórmulas que stats/cube)
+  // y en el listado por día
+  public void foldSelected() {
+    em.createNativeQuery("""
+        INSERT INTO archive_daily_workouts
+          (day, workout_id, type, duration_sec, distance_km, rpe, notas, created_at)
+        SELECT w.date, w.id, w.type, w.duration_sec, w.distance_km, w.rpe, w.notas, w.created_at
+        FROM workouts w
+        JOIN archive_ids a ON a.id = w.id
+        """).executeUpdate();
+
+    em.createNativeQuery("""
+        INSERT INTO archive_daily_volume (day, type, sessions, total_sec, distance_km, srpe_load)
+        SELECT w.date, w.type, COUNT(*), SUM(w.duration_sec), SUM(w.distance_km),
+               SUM(w.rpe * w.duration_sec / 60.0)
+        FROM workouts w
+        JOIN archive_ids a ON a.id = w.id
+        GROUP BY w.date, w.type
+        """).executeUpdate();
+
+    em.createNativeQuery("""
+        INSERT INTO archive_daily_station
+          (day, type, station, sessions, total_sec, distance_km, srpe_load, best_sec)
+        SELECT w.date, w.type, e.station, COUNT(DISTINCT w.id),
+               COALESCE(SUM(e.tiempo_parcial_seg), 0), SUM(e.distance_m) / 1000.0,
+               SUM(w.rpe * COALESCE(e.tiempo_parcial_seg, 0) / 60.0), MIN(e.tiempo_parcial_seg)
+        FROM hyrox_station_entries e
+        JOIN workouts w ON w.id = e.workout_id
+        JOIN archive_ids a ON a.id = w.id
+        GROUP BY w.date, w.type, e.station
+        """).executeUpdate();
+
+    em.createNativeQuery("""
+        INSERT INTO archive_daily_best (day, kind, workout_id, duration_sec, distance_km)
+        SELECT DISTINCT ON (w.date, w.type) w.date, w.type, w.id, w.duration_sec, w.distance_km
+        FROM workouts w
+        JOIN archive_ids a ON a.id = w.id
+        WHERE w.type IN ('RUN', 'SWIM') AND w.distance_km IS NOT NULL AND w.distance_km > 0
+        ORDER BY w.date, w.type, w.duration_sec / w.distance_km, w.id
+        """).executeUpdate();
+  }
+
+  public void insertBlock(int season, int workoutCount, int stationCount, byte[] payload) {
+    em.createNativeQuery("""
+        INSERT INTO season_archive_blocks (season, workout_count, station_count, payload)
+        VALUES (:s, :nw, :ns, :payload)
+        """)
+        .setParameter("s", season)
+        .setParameter("nw", workoutCount)
+        .setParameter("ns", stationCount)
+        .setParameter("payload", payload)
+        .executeUpdate();
+  }
+
+  // Las estaciones caen por ON DELETE CASCADE
+  public int deleteSelected() {
+    return em.createNativeQuery("DELETE FROM workouts w USING archive_ids a WHERE w.id = a.id")
+        .executeUpdate();
+  }
+
+  // --- Restaurar / leer ---
+
+  public Optional<byte[]> blockPayload(int season) {
+    @SuppressWarnings("unchecked")
+    List<byte[]> rows = em.createNativeQuery("SELECT payload FROM season_archive_blocks WHERE season = :s")
+        .setParameter("s", season).getResultList();
+    return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+  }
+
+  public List<byte[]> allPayloads() {
+    @SuppressWarnings("unchecked")
+    List<byte[]> rows = em.createNativeQuery("SELECT payload FROM season_archive_blocks ORDER BY season")
+        .getResultList();
+    return rows;
+  }
+
+  public void insertWorkouts(List<ArchivedWorkout> workouts) {
+    jdbc.batchUpdate("""
+        INSERT INTO workouts
+          (id, date, type, duration_sec, distance_km, rpe, fc_media, watts_medios, notas, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """, workouts, 500, (ps, w) -> {
+      ps.setObject(1, w.id());
+      ps.setObject(2, w.date());
+      ps.setString(3, w.type());
+      ps.setInt(4, w.durationSec());
+      ps.setBigDecimal(5, w.distanceKm());
+      ps.setInt(6, w.rpe());
+      ps.setObject(7, w.fcMedia(), Types.INTEGER);
+      ps.setObject(8, w.wattsMedios(), Types.INTEGER);
+      ps.setString(9, w.notas());
+      ps.setObject(10, toOffset(w.createdAt()), Types.TIMESTAMP_WITH_TIMEZONE);
+    });
+  }
+
+  public void insertStations(List<ArchivedStation> stations) {
+    jdbc.batchUpdate("""
+        INSERT INTO hyrox_station_entries
+          (id, workout_id, station, peso_kg, series, reps, tiempo_parcial_seg, distance_m, notas, created_at)
+        VALUES (?, ?, CAST(? AS hyrox_station), ?, ?, ?, ?, ?, ?, ?)
+        """, stations, 500, (ps, s) -> {
+      ps.setObject(1, s.id());
+      ps.setObject(2, s.workoutId());
+      ps.setString(3, s.station());
+      ps.setBigDecimal(4, s.pesoKg());
+      ps.setObject(5, s.series(), Types.INTEGER);
+      ps.setObject(6, s.reps(), Types.INTEGER);
+      ps.setObject(7, s.tiempoParcialSeg(), Types.INTEGER);
+      ps.setObject(8, s.distanceM(), Types.INTEGER);
+      ps.setString(9, s.notas());
+      ps.setObject(10, toOffset(s.createdAt()), Types.TIMESTAMP_WITH_TIMEZONE);
+    });
+  }
+
+  public void deleteSeason(int season) {
+    for (var table : List.of("archive_daily_volume", "archive_daily_station", "archive_daily_best",
+        "archive_daily_workouts")) {
+      em.createNativeQuery("DELETE FROM " + table
+          + " WHERE day >= make_date(:s, 1, 1) AND day < make_date(:s + 1, 1, 1)")
+          .setParameter("s", season).executeUpdate();
+    }
+    em.createNativeQuery("DELETE FROM season_archive_blocks WHERE season = :s")
+        .setParameter("s", season).executeUpdate();
+  }
+
+  // Workouts archivados de un día (modal del calendario), mismo formato que StatsRepository.workoutsByDate.
+  // Sale del listado por día (PK day, ...): no descomprime el bloque de la temporada
+  public List<Map<String, Object>> archivedWorkoutsOn(LocalDate day) {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = em.createNativeQuery("""
+        SELECT workout_id, type, duration_sec, distance_km, rpe, notas
+        FROM archive_daily_workouts
+        WHERE day = :day
+        ORDER BY created_at, workout_id
+        """).setParameter("day", day).getResultList();
+
+    var out = new ArrayList<Map<String, Object>>();
+    for (Object[] r : rows) {
+      var m = new HashMap<String, Object>();
+      m.put("id", r[0]);
+      m.put("type", r[1]);
+      m.put("durationSec", ((Number) r[2]).intValue());
+      m.put("distanceKm", r[3] == null ? null : ((Number) r[3]).doubleValue());
+      m.put("rpe", ((Number) r[4]).intValue());
+      m.put("notas", (String) r[5]);
+      m.put("archived", true);
+      out.add(m);
+    }
+    return out;
+  }
+
+  // Parciales archivados con tiempo, mismo formato que StatsRepository.stationEfforts:
+  // [id, workout_id, date, station, peso_kg, distance_m, tiempo_parcial_seg]
+  public List<Object[]> archivedStationEfforts() {
+    var out = new ArrayList<Object[]>();
+    for (var payload : allPayloads()) {
+      var season = ArchiveCodec.decode(payload);
+      var dates = new HashMap<UUID, LocalDate>();
+      for (var w : season.workouts())
+        dates.put(w.id(), w.date());
+      for (var s : season.stations()) {
+        if (s.tiempoParcialSeg() == null)
+          continue;
+        out.add(new Object[] { s.id(), s.workoutId(), dates.get(s.workoutId()), s.station(), s.pesoKg(),
+            s.distanceM(), s.tiempoParcialSeg() });
+      }
+    }
+    return out;
+  }
+
+  // Helpers
+
+  private static LocalDate toLocalDate(Object o) {
+    return (o instanceof java.sql.Date d) ? d.toLocalDate() : (LocalDate) o;
+  }
+
+  private static BigDecimal toDecimal(Object o) {
+    return (o == null) ? null : (o instanceof BigDecimal b) ? b : new BigDecimal(o.toString());
+  }
+
+  private static Instant toInstant(Object o) {
+    if (o == null)
+      return null;
+    if (o instanceof OffsetDateTime odt)
+      return odt.toInstant();
+    if (o instanceof Timestamp ts)
+      return ts.toInstant();
+    return (Instant) o;
+  }
+
+  private static OffsetDateTime toOffset(Instant i) {
+    return (i == null) ? null : i.atOffset(ZoneOffset.UTC);
+  }
+}
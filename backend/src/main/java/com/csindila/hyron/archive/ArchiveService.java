@@ -0,0 +1,140 @@
+package com.csindila.hyron.archive;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.csindila.hyron.stats.LeaderboardIndex;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Archivado por temporadas (año natural): las temporadas anteriores a las
+ * "keep-seasons" más recientes salen de las tablas calientes a un bloque comprimido,
+ * dejando sus agregados diarios ya plegados para que stats siga viéndolas.
+ * Cada temporada va en su propia transacción.
+ */
+@Service
+public class ArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveService.class);
+
+    private final ArchiveRepository repo;
+    private final LeaderboardIndex leaderboard;
+    private final EntityManagerFactory emf;
+    private final TransactionTemplate tx;
+    private final int keepSeasons;
+    private final boolean enabled;
+
+    public ArchiveService(ArchiveRepository repo, LeaderboardIndex leaderboard, EntityManagerFactory emf,
+            PlatformTransactionManager txManager,
+            @Value("${hyron.archive.keep-seasons:3}") int keepSeasons,
+            @Value("${hyron.archive.enabled:false}") boolean enabled) {
+        this.repo = repo;
+        this.leaderboard = leaderboard;
+        this.emf = emf;
+        this.tx = new TransactionTemplate(txManager);
+        this.keepSeasons = Math.max(1, keepSeasons);
+        this.enabled = enabled;
+    }
+
+    // Primera temporada que se queda en caliente
+    public int cutoffSeason() {
+        return LocalDate.now().getYear() - keepSeasons + 1;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> res = new HashMap<>();
+        res.put("keepSeasons", keepSeasons);
+        res.put("cutoffSeason", cutoffSeason());
+        res.put("blocks", repo.blocks());
+        res.put("pending", repo.archivableSeasons(cutoffSeason()));
+        return res;
+    }
+
+    @Scheduled(cron = "${hyron.archive.cron:0 0 4 1 * *}")
+    public void scheduledArchive() {
+        if (!enabled)
+            return;
+        var done = archiveEligible();
+        if (!done.isEmpty())
+            log.info("Archivado programado: {}", done);
+    }
+
+    public List<Map<String, Object>> archiveEligible() {
+        var out = new ArrayList<Map<String, Object>>();
+        for (int season : repo.archivableSeasons(cutoffSeason()))
+            out.add(archiveSeason(season));
+        return out;
+    }
+
+    public Map<String, Object> archiveSeason(int season) {
+        if (season >= cutoffSeason())
+            throw new IllegalArgumentException(
+                    "Solo se archivan temporadas anteriores a " + cutoffSeason());
+        if (repo.hasBlock(season))
+            throw new IllegalArgumentException("La temporada " + season + " ya está archivada");
+
+        var res = tx.execute(s -> {
+            Map<String, Object> m = new HashMap<>();
+            m.put("season", season);
+            if (repo.selectSeason(season) == 0) {
+                m.put("workouts", 0);
+                m.put("stations", 0);
+                return m;
+            }
+            var data = new ArchiveCodec.Season(repo.selectedWorkouts(), repo.selectedStations());
+            repo.foldSelected();
+            byte[] payload = ArchiveCodec.encode(data);
+            repo.insertBlock(season, data.workouts().size(), data.stations().size(), payload);
+            repo.deleteSelected();
+            m.put("workouts", data.workouts().size());
+            m.put("stations", data.stations().size());
+            m.put("bytes", payload.length);
+            return m;
+        });
+        if ((Integer) res.get("workouts") > 0) {
+            afterChange();
+            log.info("Temporada {} archivada: {}", season, res);
+        }
+        return res;
+    }
+
+    // Devuelve la temporada a las tablas calientes (mismos ids y created_at) y
+    // retira su bloque y sus agregados plegados
+    public Map<String, Object> restoreSeason(int season) {
+        var res = tx.execute(s -> {
+            byte[] payload = repo.blockPayload(season)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "La temporada " + season + " no está archivada"));
+            var data = ArchiveCodec.decode(payload);
+            repo.insertWorkouts(data.workouts());
+            repo.insertStations(data.stations());
+            repo.deleteSeason(season);
+
+            Map<String, Object> m = new HashMap<>();
+            m.put("season", season);
+            m.put("workouts", data.workouts().size());
+            m.put("stations", data.stations().size());
+            return m;
+        });
+        afterChange();
+        log.info("Temporada {} restaurada: {}", season, res);
+        return res;
+    }
+
+    // Los cambios van por SQL nativo: fuera la caché L2 y se recarga el leaderboard
+    private void afterChange() {
+        emf.getCache().evictAll();
+        leaderboard.rebuild();
+    }
+}
@@ -0,0 +1,10 @@
+package com.csindila.hyron.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tareas periódicas (@Scheduled): compactación del change log, avisos de long-poll
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
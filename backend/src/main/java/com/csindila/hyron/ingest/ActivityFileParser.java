@@ -0,0 +1,272 @@
+package com.csindila.hyron.ingest;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.csindila.hyron.workout.model.WorkoutType;
+
+/**
+ * Parser GPX/TCX en streaming (StAX): una sola pasada, sin DOM y con memoria
+ * constante; sólo guarda el punto actual y los acumuladores.
+ *
+ * - Duración: tiempo de cronómetro. En TCX, la suma de TotalTimeSeconds de las vueltas
+ *   (excluye autopausa y paradas); si no hay, y en GPX, primer → último timestamp de
+ *   cada segmento (trkseg / Track) sumados, sin contar los huecos entre segmentos.
+ * - Distancia: haversine entre puntos con posición del mismo segmento; si no hay GPS
+ *   (piscina, rodillo), el mayor DistanceMeters acumulado del TCX.
+ * - FC / vatios: media de las muestras que los traen.
+ * - Fecha: la del primer timestamp en la zona del atleta (no la del servidor).
+ */
+public final class ActivityFileParser {
+
+    private static final double EARTH_RADIUS_M = 6_371_008.8;
+
+    private static final XMLInputFactory FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        // Sin DTD ni entidades externas (XXE)
+        FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        FACTORY.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        FACTORY.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    private ActivityFileParser() {
+    }
+
+    public static ActivitySummary parse(InputStream in, ZoneId zone) throws XMLStreamException {
+        var acc = new Accumulator(zone);
+        XMLStreamReader r = FACTORY.createXMLStreamReader(in);
+        try {
+            boolean inPoint = false;
+            boolean inHeartRate = false;
+            boolean inTrack = false;
+            while (r.hasNext()) {
+                int ev = r.next();
+                if (ev == XMLStreamConstants.START_ELEMENT) {
+                    String name = r.getLocalName();
+                    switch (name) {
+                        // GPX
+                        case "trk" -> inTrack = true;
+                        case "trkseg" -> acc.beginSegment();
+                        case "trkpt", "rtept" -> {
+                            inPoint = true;
+                            acc.beginPoint();
+                            acc.lat = parseDouble(r.getAttributeValue(null, "lat"));
+                            acc.lon = parseDouble(r.getAttributeValue(null, "lon"));
+                        }
+                        case "type" -> {
+                            if (inTrack && !inPoint)
+                                acc.sport = r.getElementText();
+                        }
+                        case "hr" -> {
+                            if (inPoint)
+                                acc.hr = parseDouble(r.getElementText());
+                        }
+                        case "power", "PowerInWatts", "Watts" -> {
+                            if (inPoint)
+                                acc.watts = parseDouble(r.getElementText());
+                        }
+                        case "time" -> {
+                            if (inPoint)
+                                acc.time = parseTime(r);
+                        }
+                        // TCX
+                        case "Activity" -> acc.sport = r.getAttributeValue(null, "Sport");
+                        case "Track" -> acc.beginSegment();
+                        case "Trackpoint" -> {
+                            inPoint = true;
+                            acc.beginPoint();
+                        }
+                        case "Time" -> {
+                            if (inPoint)
+                                acc.time = parseTime(r);
+                        }
+                        case "LatitudeDegrees" -> acc.lat = parseDouble(r.getElementText());
+                        case "LongitudeDegrees" -> acc.lon = parseDouble(r.getElementText());
+                        case "HeartRateBpm" -> inHeartRate = true;
+                        case "Value" -> {
+                            if (inPoint && inHeartRate)
+                                acc.hr = parseDouble(r.getElementText());
+                        }
+                        case "DistanceMeters" -> {
+                            double d = parseDouble(r.getElementText());
+                            if (inPoint)
+                                acc.deviceDistanceM = Math.max(acc.deviceDistanceM, d);
+                        }
+                        case "TotalTimeSeconds" -> {
+                            if (!inPoint)
+                                acc.lapSeconds += parseDouble(r.getElementText());
+                        }
+                        default -> {
+                        }
+                    }
+                } else if (ev == XMLStreamConstants.END_ELEMENT) {
+                    switch (r.getLocalName()) {
+                        case "trk" -> inTrack = false;
+                        case "trkpt", "rtept", "Trackpoint" -> {
+                            inPoint = false;
+                            acc.endPoint();
+                        }
+                        case "HeartRateBpm" -> inHeartRate = false;
+                        default -> {
+                        }
+                    }
+                }
+            }
+        } finally {
+            r.close();
+        }
+        return acc.summary();
+    }
+
+    public static double haversineMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_M * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    static WorkoutType sportToType(String sport) {
+        if (sport == null)
+            return null;
+        return switch (sport.trim().toLowerCase(Locale.ROOT)) {
+            case "running", "run", "trail_running", "9" -> WorkoutType.RUN;
+            case "biking", "cycling", "ride", "bike", "road_biking", "1" -> WorkoutType.BIKE;
+            case "swimming", "swim", "lap_swimming", "open_water_swimming" -> WorkoutType.SWIM;
+            default -> null;
+        };
+    }
+
+    private static double parseDouble(String s) {
+        if (s == null || s.isBlank())
+            return Double.NaN;
+        try {
+            return Double.parseDouble(s.trim());
+        } catch (NumberFormatException ex) {
+            return Double.NaN;
+        }
+    }
+
+    // Un timestamp mal formado invalida el fichero igual que un XML roto
+    private static Instant parseTime(XMLStreamReader r) throws XMLStreamException {
+        var t = r.getElementText().trim();
+        try {
+            return OffsetDateTime.parse(t).toInstant();
+        } catch (DateTimeParseException ex) {
+            try {
+                // Sin zona: se asume UTC (así lo escriben GPX/TCX)
+                return LocalDateTime.parse(t).toInstant(ZoneOffset.UTC);
+            } catch (DateTimeParseException ex2) {
+                throw new XMLStreamException("Fecha no válida: " + t, r.getLocation(), ex2);
+            }
+        }
+    }
+
+    // Estado del punto actual + acumuladores de la pasada
+    private static final class Accumulator {
+        final ZoneId zone;
+        String sport;
+
+        // Punto actual
+        double lat, lon, hr, watts;
+        Instant time;
+
+        // Acumulados (segFirst/segLast: segmento en curso; segmentSec: segmentos cerrados)
+        Instant first, segFirst, segLast;
+        long segmentSec;
+        double prevLat = Double.NaN, prevLon = Double.NaN;
+        double gpsDistanceM;
+        double deviceDistanceM;
+        double lapSeconds;
+        long hrSum, hrCount, wattsSum, wattsCount, points;
+
+        Accumulator(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        void beginPoint() {
+            lat = lon = hr = watts = Double.NaN;
+            time = null;
+        }
+
+        // Nuevo segmento (pausa / corte de grabación): no se une por tiempo ni distancia
+        void beginSegment() {
+            closeSegment();
+            prevLat = prevLon = Double.NaN;
+        }
+
+        void closeSegment() {
+            if (segFirst != null)
+                segmentSec += Math.max(0, segLast.getEpochSecond() - segFirst.getEpochSecond());
+            segFirst = segLast = null;
+        }
+
+        void endPoint() {
+            points++;
+            if (time != null) {
+                if (first == null)
+                    first = time;
+                if (segFirst == null)
+                    segFirst = time;
+                segLast = time;
+            }
+            if (!Double.isNaN(lat) && !Double.isNaN(lon)) {
+                if (!Double.isNaN(prevLat))
+                    gpsDistanceM += haversineMeters(prevLat, prevLon, lat, lon);
+                prevLat = lat;
+                prevLon = lon;
+            }
+            if (!Double.isNaN(hr) && hr > 0) {
+                hrSum += Math.round(hr);
+                hrCount++;
+            }
+            if (!Double.isNaN(watts) && watts >= 0) {
+                wattsSum += Math.round(watts);
+                wattsCount++;
+            }
+        }
+
+        ActivitySummary summary() {
+            closeSegment();
+            long durationSec = (lapSeconds > 0) ? Math.round(lapSeconds) : segmentSec;
+            if (durationSec <= 0 || durationSec > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("El fichero no tiene una duración válida");
+
+            double meters = gpsDistanceM > 0 ? gpsDistanceM : deviceDistanceM;
+            BigDecimal km = meters > 0
+                    ? BigDecimal.valueOf(meters / 1000.0).setScale(2, RoundingMode.HALF_UP)
+                    : null;
+            if (km != null && km.signum() == 0)
+                km = null;
+
+            var date = (first != null)
+                    ? first.atZone(zone).toLocalDate()
+                    : null;
+
+            return new ActivitySummary(
+                    sportToType(sport),
+                    date,
+                    (int) durationSec,
+                    km,
+                    hrCount == 0 ? null : (int) Math.round((double) hrSum / hrCount),
+                    wattsCount == 0 ? null : (int) Math.round((double) wattsSum / wattsCount),
+                    points);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.csindila.hyron.ingest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.csindila.hyron.workout.dto.WorkoutDto;
+import com.csindila.hyron.workout.model.Workout;
+import com.csindila.hyron.workout.model.WorkoutType;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/workouts/import")
+@RequiredArgsConstructor
+public class ActivityImportController {
+
+    private final ActivityImportService service;
+
+    // Un fichero GPX/TCX → un workout (type se deduce del fichero si no se indica)
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<WorkoutDto> importFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam int rpe,
+            @RequestParam(required = false) WorkoutType type,
+            @RequestParam(required = false) String notas) throws IOException {
+        try (var in = file.getInputStream()) {
+            var saved = service.importFile(in, type, rpe, notas);
+            return ResponseEntity.status(HttpStatus.CREATED).body(toDto(saved));
+        }
+    }
+
+    // Varios ficheros (carpeta) procesados en paralelo; resultado por fichero
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public List<Map<String, Object>> importBatch(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam int rpe,
+            @RequestParam(required = false) WorkoutType type) {
+        return service.importAll(files, type, rpe);
+    }
+
+    private WorkoutDto toDto(Workout w) {
+        return new WorkoutDto(
+                w.getId(), w.getDate(), w.getType(), w.getDurationSec(), w.getDistanceKm(), w.getRpe(), w.getFcMedia(),
+                w.getWattsMedios(), w.getNotas());
+    }
+}
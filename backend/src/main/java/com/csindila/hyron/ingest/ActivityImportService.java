@@ -0,0 +1,111 @@
+package com.csindila.hyron.ingest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.csindila.hyron.workout.model.Workout;
+import com.csindila.hyron.workout.model.WorkoutType;
+import com.csindila.hyron.workout.repo.WorkoutRepository;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class ActivityImportService {
+
+    private final WorkoutRepository repo;
+    // Zona del atleta para la fecha del workout (los ficheros traen instantes en UTC)
+    private final ZoneId zone;
+
+    // Parseo de lotes en paralelo (CPU); cada fichero se lee en streaming
+    private final ExecutorService pool = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    public ActivityImportService(WorkoutRepository repo,
+            @Value("${hyron.ingest.athlete-zone:UTC}") String zone) {
+        this.repo = repo;
+        this.zone = ZoneId.of(zone);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    public Workout importFile(InputStream in, WorkoutType type, int rpe, String notas) {
+        if (rpe < 1 || rpe > 10) {
+            throw new IllegalArgumentException("rpe debe estar entre 1 y 10");
+        }
+        // Mismo límite que WorkoutCreateRequest (@Size(max = 500), VARCHAR(500))
+        var nota = (notas == null || notas.trim().isEmpty()) ? null : notas.trim();
+        if (nota != null && nota.length() > 500) {
+            throw new IllegalArgumentException("notas no puede superar 500 caracteres");
+        }
+        ActivitySummary s;
+        try {
+            s = ActivityFileParser.parse(in, zone);
+        } catch (XMLStreamException ex) {
+            throw new IllegalArgumentException("Fichero GPX/TCX no válido: " + ex.getMessage());
+        }
+
+        var t = (type != null) ? type : s.type();
+        if (t != WorkoutType.RUN && t != WorkoutType.BIKE && t != WorkoutType.SWIM) {
+            throw new IllegalArgumentException("Sólo se importan sesiones RUN, BIKE o SWIM (indica 'type')");
+        }
+        if (s.date() == null) {
+            throw new IllegalArgumentException("El fichero no tiene timestamps");
+        }
+
+        var w = new Workout();
+        w.setId(UUID.randomUUID());
+        w.setDate(s.date());
+        w.setType(t);
+        w.setDurationSec(s.durationSec());
+        w.setDistanceKm(s.distanceKm());
+        w.setRpe(rpe);
+        w.setFcMedia(s.fcMedia());
+        w.setWattsMedios(s.wattsMedios());
+        w.setNotas(nota);
+        return repo.save(w);
+    }
+
+    // Importa un lote (p. ej. una carpeta exportada del reloj) en paralelo.
+    // Un fichero erróneo no tumba el lote: su resultado lleva "error".
+    public List<Map<String, Object>> importAll(List<MultipartFile> files, WorkoutType type, int rpe) {
+        var futures = new ArrayList<CompletableFuture<Map<String, Object>>>();
+        for (var f : files) {
+            futures.add(CompletableFuture.supplyAsync(() -> importOne(f, type, rpe), pool));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private Map<String, Object> importOne(MultipartFile f, WorkoutType type, int rpe) {
+        var res = new HashMap<String, Object>();
+        res.put("file", f.getOriginalFilename());
+        try (var in = f.getInputStream()) {
+            var w = importFile(in, type, rpe, null);
+            res.put("workoutId", w.getId());
+            res.put("type", w.getType());
+            res.put("date", w.getDate());
+            res.put("durationSec", w.getDurationSec());
+            res.put("distanceKm", w.getDistanceKm());
+        } catch (IOException | RuntimeException ex) {
+            res.put("error", ex.getMessage());
+        }
+        return res;
+    }
+}
@@ -0,0 +1,17 @@
+package com.csindila.hyron.ingest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.csindila.hyron.workout.model.WorkoutType;
+
+// Resumen de un fichero GPX/TCX (type es null si el fichero no indica deporte)
+public record ActivitySummary(
+    WorkoutType type,
+    LocalDate date,
+    int durationSec,
+    BigDecimal distanceKm,
+    Integer fcMedia,
+    Integer wattsMedios,
+    long points
+) {}
@@ -0,0 +1,6 @@
+package com.csindila.hyron.samples;
+
+// Canales de muestras: FC (ppm), potencia (W), ritmo (s/km)
+public enum SampleChannel {
+    HR, POWER, PACE
+}
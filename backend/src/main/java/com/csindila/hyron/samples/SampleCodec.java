@@ -0,0 +1,103 @@
+package com.csindila.hyron.samples;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Codificación de un bloque de muestras enteras:
+ * cada muestra es un varint sin signo; 0 = hueco (sin dato) y, si hay dato,
+ * zigzag(valor - último valor presente) + 1. El resultado se comprime con deflate.
+ * Series suaves (FC a 1 Hz) quedan en ~1 byte por muestra antes de comprimir.
+ */
+public final class SampleCodec {
+
+    // Marca de hueco en los arrays decodificados
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    private SampleCodec() {
+    }
+
+    public static byte[] encode(List<Integer> values, int from, int to) {
+        var raw = new byte[(to - from) * 10];
+        int pos = 0;
+        long prev = 0;
+        for (int i = from; i < to; i++) {
+            var v = values.get(i);
+            long token;
+            if (v == null) {
+                token = 0;
+            } else {
+                long delta = v - prev;
+                token = ((delta << 1) ^ (delta >> 63)) + 1;
+                prev = v;
+            }
+            while ((token & ~0x7FL) != 0) {
+                raw[pos++] = (byte) ((token & 0x7F) | 0x80);
+                token >>>= 7;
+            }
+            raw[pos++] = (byte) token;
+        }
+
+        var deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(raw, 0, pos);
+            deflater.finish();
+            var out = new byte[pos + 64];
+            int len = 0;
+            while (!deflater.finished()) {
+                if (len == out.length)
+                    out = Arrays.copyOf(out, out.length * 2);
+                len += deflater.deflate(out, len, out.length - len);
+            }
+            return Arrays.copyOf(out, len);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // Decodifica "count" muestras en out[0..count) (MISSING para los huecos)
+    public static void decode(byte[] data, int count, int[] out) {
+        var raw = new byte[count * 10];
+        int rawLen = 0;
+        var inflater = new Inflater(true);
+        try {
+            inflater.setInput(data);
+            while (!inflater.finished() && rawLen < raw.length) {
+                int n = inflater.inflate(raw, rawLen, raw.length - rawLen);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+                rawLen += n;
+            }
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Bloque de muestras corrupto", ex);
+        } finally {
+            inflater.end();
+        }
+
+        int pos = 0;
+        long prev = 0;
+        for (int i = 0; i < count; i++) {
+            long token = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (pos >= rawLen)
+                    throw new IllegalStateException("Bloque de muestras truncado");
+                b = raw[pos++];
+                token |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+
+            if (token == 0) {
+                out[i] = MISSING;
+            } else {
+                long z = token - 1;
+                prev += (z >>> 1) ^ -(z & 1);
+                out[i] = (int) prev;
+            }
+        }
+    }
+}
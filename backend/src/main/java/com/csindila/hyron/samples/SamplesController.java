@@ -0,0 +1,48 @@
+package com.csindila.hyron.samples;
+
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/workouts/{workoutId}/samples")
+public class SamplesController {
+
+    private final SamplesService service;
+
+    public SamplesController(SamplesService service) {
+        this.service = service;
+    }
+
+    // Guardar (reemplazar) series por canal
+    @PutMapping
+    public ResponseEntity<?> write(@PathVariable UUID workoutId, @Valid @RequestBody SamplesWriteRequest req) {
+        return ResponseEntity.ok(service.write(workoutId, req));
+    }
+
+    // Canales disponibles
+    @GetMapping
+    public ResponseEntity<?> series(@PathVariable UUID workoutId) {
+        return ResponseEntity.ok(service.series(workoutId));
+    }
+
+    // Ventana de tiempo a la resolución pedida
+    @GetMapping("/{channel}")
+    public ResponseEntity<?> window(
+            @PathVariable UUID workoutId,
+            @PathVariable SampleChannel channel,
+            @RequestParam(required = false) Integer fromSec,
+            @RequestParam(required = false) Integer toSec,
+            @RequestParam(required = false) Integer resolutionSec) {
+        return ResponseEntity.ok(service.window(workoutId, channel, fromSec, toSec, resolutionSec));
+    }
+}
@@ -0,0 +1,138 @@
+package com.csindila.hyron.samples;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class SamplesRepository {
+
+  @PersistenceContext
+  private EntityManager em;
+
+  // DML nativo declarando la tabla que toca: sin "query space" Hibernate asume que
+  // puede tocar cualquiera y vacía toda la caché L2 (workouts, estaciones, consultas)
+  private NativeQuery<?> update(String sql, String table) {
+    return em.createNativeQuery(sql).unwrap(NativeQuery.class).addSynchronizedQuerySpace(table);
+  }
+
+  // Borra la serie del canal (los bloques caen por ON DELETE CASCADE)
+  public void deleteSeries(UUID workoutId, SampleChannel channel) {
+    update("DELETE FROM workout_sample_series WHERE workout_id = :w AND channel = :c", "workout_sample_series")
+        .addSynchronizedQuerySpace("workout_sample_chunks")
+        .setParameter("w", workoutId)
+        .setParameter("c", channel.name())
+        .executeUpdate();
+  }
+
+  public void insertSeries(UUID workoutId, SampleChannel channel, int intervalSec, int sampleCount, int chunkSize) {
+    update("""
+        INSERT INTO workout_sample_series (workout_id, channel, interval_sec, sample_count, chunk_size)
+        VALUES (:w, :c, :interval, :count, :chunk)
+        """, "workout_sample_series")
+        .setParameter("w", workoutId)
+        .setParameter("c", channel.name())
+        .setParameter("interval", intervalSec)
+        .setParameter("count", sampleCount)
+        .setParameter("chunk", chunkSize)
+        .executeUpdate();
+  }
+
+  public void insertChunk(UUID workoutId, SampleChannel channel, int chunkNo, int sampleCount, int presentCount,
+      int min, int max, long sum, byte[] data) {
+    update("""
+        INSERT INTO workout_sample_chunks
+          (workout_id, channel, chunk_no, sample_count, present_count, min_value, max_value, sum_value, data)
+        VALUES (:w, :c, :n, :count, :present, :min, :max, :sum, :data)
+        """, "workout_sample_chunks")
+        .setParameter("w", workoutId)
+        .setParameter("c", channel.name())
+        .setParameter("n", chunkNo)
+        .setParameter("count", sampleCount)
+        .setParameter("present", presentCount)
+        .setParameter("min", min)
+        .setParameter("max", max)
+        .setParameter("sum", sum)
+        .setParameter("data", data)
+        .executeUpdate();
+  }
+
+  // Cabeceras de las series de un workout
+  public List<Map<String, Object>> seriesOf(UUID workoutId) {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = em.createNativeQuery("""
+        SELECT channel, interval_sec, sample_count, chunk_size
+        FROM workout_sample_series
+        WHERE workout_id = :w
+        ORDER BY channel
+        """).setParameter("w", workoutId).getResultList();
+
+    var out = new ArrayList<Map<String, Object>>();
+    for (Object[] r : rows) {
+      var m = new HashMap<String, Object>();
+      m.put("channel", r[0]);
+      m.put("intervalSec", ((Number) r[1]).intValue());
+      m.put("sampleCount", ((Number) r[2]).intValue());
+      m.put("chunkSize", ((Number) r[3]).intValue());
+      out.add(m);
+    }
+    return out;
+  }
+
+  // [interval_sec, sample_count, chunk_size]
+  public Optional<int[]> seriesHeader(UUID workoutId, SampleChannel channel) {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = em.createNativeQuery("""
+        SELECT interval_sec, sample_count, chunk_size
+        FROM workout_sample_series
+        WHERE workout_id = :w AND channel = :c
+        """).setParameter("w", workoutId).setParameter("c", channel.name()).getResultList();
+    if (rows.isEmpty())
+      return Optional.empty();
+    Object[] r = rows.get(0);
+    return Optional.of(new int[] { ((Number) r[0]).intValue(), ((Number) r[1]).intValue(), ((Number) r[2]).intValue() });
+  }
+
+  // Estadísticas de los bloques [c0, c1] (sin leer los bytes):
+  // [chunk_no, sample_count, present_count, min, max, sum]
+  public List<Object[]> chunkStats(UUID workoutId, SampleChannel channel, int c0, int c1) {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = em.createNativeQuery("""
+        SELECT chunk_no, sample_count, present_count, min_value, max_value, sum_value
+        FROM workout_sample_chunks
+        WHERE workout_id = :w AND channel = :c AND chunk_no BETWEEN :c0 AND :c1
+        ORDER BY chunk_no
+        """)
+        .setParameter("w", workoutId)
+        .setParameter("c", channel.name())
+        .setParameter("c0", c0)
+        .setParameter("c1", c1)
+        .getResultList();
+    return rows;
+  }
+
+  // Bytes de los bloques indicados: [chunk_no, sample_count, data]
+  public List<Object[]> chunkData(UUID workoutId, SampleChannel channel, Collection<Integer> chunkNos) {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = em.createNativeQuery("""
+        SELECT chunk_no, sample_count, data
+        FROM workout_sample_chunks
+        WHERE workout_id = :w AND channel = :c AND chunk_no IN (:nos)
+        ORDER BY chunk_no
+        """)
+        .setParameter("w", workoutId)
+        .setParameter("c", channel.name())
+        .setParameter("nos", chunkNos)
+        .getResultList();
+    return rows;
+  }
+}
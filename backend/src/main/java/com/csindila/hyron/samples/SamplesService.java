@@ -0,0 +1,201 @@
+package com.csindila.hyron.samples;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.csindila.hyron.workout.repo.WorkoutRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class SamplesService {
+
+    // 10 min a 1 Hz: un 70.3 de 6 h son 36 bloques por canal
+    static final int CHUNK_SIZE = 600;
+    static final int DEFAULT_BUCKETS = 500;
+    static final int MAX_BUCKETS = 5000;
+
+    private final SamplesRepository repo;
+    private final WorkoutRepository workouts;
+
+    public SamplesService(SamplesRepository repo, WorkoutRepository workouts) {
+        this.repo = repo;
+        this.workouts = workouts;
+    }
+
+    // Sustituye las series de los canales enviados (los demás no se tocan)
+    @Transactional
+    public Map<String, Object> write(UUID workoutId, SamplesWriteRequest req) {
+        workouts.findById(workoutId).orElseThrow();
+        int interval = (req.intervalSec() == null) ? 1 : req.intervalSec();
+
+        req.channels().forEach((channel, values) -> {
+            if (values == null)
+                throw new IllegalArgumentException("Faltan las muestras de " + channel);
+            for (var v : values) {
+                if (v != null && v < 0)
+                    throw new IllegalArgumentException("Muestras de " + channel + " deben ser >= 0");
+            }
+            repo.deleteSeries(workoutId, channel);
+            repo.insertSeries(workoutId, channel, interval, values.size(), CHUNK_SIZE);
+
+            for (int start = 0, chunkNo = 0; start < values.size(); start += CHUNK_SIZE, chunkNo++) {
+                int end = Math.min(values.size(), start + CHUNK_SIZE);
+                int present = 0, min = 0, max = 0;
+                long sum = 0;
+                for (int i = start; i < end; i++) {
+                    var v = values.get(i);
+                    if (v == null)
+                        continue;
+                    min = (present == 0) ? v : Math.min(min, v);
+                    max = (present == 0) ? v : Math.max(max, v);
+                    sum += v;
+                    present++;
+                }
+                repo.insertChunk(workoutId, channel, chunkNo, end - start, present, min, max, sum,
+                        SampleCodec.encode(values, start, end));
+            }
+        });
+
+        return Map.of("workoutId", workoutId, "series", repo.seriesOf(workoutId));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> series(UUID workoutId) {
+        return Map.of("workoutId", workoutId, "series", repo.seriesOf(workoutId));
+    }
+
+    // Ventana [fromSec, toSec) agregada en cubos de resolutionSec (min/max/avg).
+    // Sólo se descomprimen los bloques que cortan la ventana o varios cubos;
+    // un bloque que cae entero en un cubo se agrega con sus min/max/sum guardados.
+    @Transactional(readOnly = true)
+    public Map<String, Object> window(UUID workoutId, SampleChannel channel, Integer fromSec, Integer toSec,
+            Integer resolutionSec) {
+        int[] header = repo.seriesHeader(workoutId, channel).orElseThrow();
+        int interval = header[0], count = header[1], chunk = header[2];
+
+        long total = (long) count * interval;
+        long from = (fromSec == null) ? 0 : Math.max(0, fromSec);
+        long to = (toSec == null) ? total : Math.min(total, toSec);
+        long span = Math.max(0, to - from);
+        long res = (resolutionSec == null)
+                ? Math.max(1, (span + DEFAULT_BUCKETS - 1) / DEFAULT_BUCKETS)
+                : resolutionSec;
+        res = Math.max(res, interval);
+        int buckets = (int) Math.min(Integer.MAX_VALUE, (span + res - 1) / res);
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Demasiados cubos (" + buckets + "); sube resolutionSec");
+        }
+
+        var acc = new Buckets(buckets, from, res, interval);
+        long i0 = (from + interval - 1) / interval;
+        long i1 = Math.min(count, (to + interval - 1) / interval);
+        if (i0 < i1) {
+            int c0 = (int) (i0 / chunk);
+            int c1 = (int) ((i1 - 1) / chunk);
+
+            var toDecode = new ArrayList<Integer>();
+            for (Object[] r : repo.chunkStats(workoutId, channel, c0, c1)) {
+                int chunkNo = ((Number) r[0]).intValue();
+                int sampleCount = ((Number) r[1]).intValue();
+                int present = ((Number) r[2]).intValue();
+                if (present == 0)
+                    continue;
+                long s0 = (long) chunkNo * chunk;
+                long s1 = s0 + sampleCount;
+                if (s0 >= i0 && s1 <= i1 && acc.bucketOf(s0) == acc.bucketOf(s1 - 1)) {
+                    acc.addChunk(acc.bucketOf(s0), present, ((Number) r[3]).intValue(),
+                            ((Number) r[4]).intValue(), ((Number) r[5]).longValue());
+                } else {
+                    toDecode.add(chunkNo);
+                }
+            }
+
+            if (!toDecode.isEmpty()) {
+                var buf = new int[chunk];
+                for (Object[] r : repo.chunkData(workoutId, channel, toDecode)) {
+                    int chunkNo = ((Number) r[0]).intValue();
+                    int sampleCount = ((Number) r[1]).intValue();
+                    SampleCodec.decode((byte[]) r[2], sampleCount, buf);
+                    long s0 = (long) chunkNo * chunk;
+                    int k0 = (int) Math.max(0, i0 - s0);
+                    int k1 = (int) Math.min(sampleCount, i1 - s0);
+                    for (int k = k0; k < k1; k++) {
+                        if (buf[k] != SampleCodec.MISSING)
+                            acc.add(acc.bucketOf(s0 + k), buf[k]);
+                    }
+                }
+            }
+        }
+
+        Map<String, Object> out = new HashMap<>();
+        out.put("workoutId", workoutId);
+        out.put("channel", channel);
+        out.put("intervalSec", interval);
+        out.put("fromSec", from);
+        out.put("toSec", to);
+        out.put("resolutionSec", res);
+        out.put("columns", List.of("t", "min", "max", "avg"));
+        out.put("rows", acc.rows());
+        return out;
+    }
+
+    // Acumuladores por cubo
+    private static final class Buckets {
+        final long from, res;
+        final int interval;
+        final int[] min, max, n;
+        final long[] sum;
+
+        Buckets(int size, long from, long res, int interval) {
+            this.from = from;
+            this.res = res;
+            this.interval = interval;
+            this.min = new int[size];
+            this.max = new int[size];
+            this.n = new int[size];
+            this.sum = new long[size];
+            Arrays.fill(min, Integer.MAX_VALUE);
+            Arrays.fill(max, Integer.MIN_VALUE);
+        }
+
+        int bucketOf(long sampleIndex) {
+            return (int) ((sampleIndex * interval - from) / res);
+        }
+
+        void add(int b, int v) {
+            if (v < min[b])
+                min[b] = v;
+            if (v > max[b])
+                max[b] = v;
+            sum[b] += v;
+            n[b]++;
+        }
+
+        void addChunk(int b, int present, int cmin, int cmax, long csum) {
+            if (cmin < min[b])
+                min[b] = cmin;
+            if (cmax > max[b])
+                max[b] = cmax;
+            sum[b] += csum;
+            n[b] += present;
+        }
+
+        // Cubos sin datos se omiten
+        List<List<Object>> rows() {
+            var rows = new ArrayList<List<Object>>();
+            for (int b = 0; b < n.length; b++) {
+                if (n[b] == 0)
+                    continue;
+                double avg = Math.round(sum[b] * 100.0 / n[b]) / 100.0;
+                rows.add(List.of(from + b * res, min[b], max[b], avg));
+            }
+            return rows;
+        }
+    }
+}
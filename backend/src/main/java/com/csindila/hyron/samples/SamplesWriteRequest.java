@@ -0,0 +1,14 @@
+package com.csindila.hyron.samples;
+
+import java.util.List;
+import java.util.Map;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+
+// Series completas por canal; null = hueco (sin dato en ese segundo)
+public record SamplesWriteRequest(
+
+    @Positive Integer intervalSec,
+    @NotEmpty Map<SampleChannel, List<Integer>> channels
+) {}
@@ -0,0 +1,37 @@
+package com.csindila.hyron.search;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.csindila.hyron.workout.model.HyroxStation;
+import com.csindila.hyron.workout.model.WorkoutType;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService service;
+
+    public SearchController(SearchService service) {
+        this.service = service;
+    }
+
+    // Búsqueda en notas de workouts y estaciones, paginada con cursor
+    @GetMapping("/notes")
+    public ResponseEntity<?> notes(
+            @RequestParam String q,
+            @RequestParam(required = false) WorkoutType type,
+            @RequestParam(required = false) HyroxStation station,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(service.searchNotes(q, type, station, from, to, cursor, limit));
+    }
+}
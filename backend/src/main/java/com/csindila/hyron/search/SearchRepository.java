@@ -0,0 +1,115 @@
+package com.csindila.hyron.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import com.csindila.hyron.workout.model.HyroxStation;
+import com.csindila.hyron.workout.model.WorkoutType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class SearchRepository {
+
+  // Marcas para el snippet resaltado (el front las pinta como <mark>). El texto de la
+  // nota se escapa a HTML antes de ts_headline: las únicas etiquetas del snippet son
+  // estas marcas y una nota con markup no se puede inyectar al pintarlo.
+  private static final String HEADLINE_OPTS = "StartSel=<mark>, StopSel=</mark>, MaxWords=25, MinWords=8, MaxFragments=2";
+
+  @PersistenceContext
+  private EntityManager em;
+
+  // Búsqueda sobre workouts.notas y hyrox_station_entries.notas (índices GIN de V5).
+  // score = ts_rank_cd (palabras) + word_similarity (trigramas); orden (score DESC, id)
+  // y paginación keyset: la página siguiente empieza tras (afterScore, afterId).
+  // El snippet se calcula sólo para las filas de la página, no para todos los matches.
+  public List<Map<String, Object>> searchNotes(String text, WorkoutType type, HyroxStation station,
+      LocalDate from, LocalDate to, Float afterScore, UUID afterId, int limit) {
+
+    var filters = new StringBuilder();
+    if (type != null)
+      filters.append(" AND w.type = :type");
+    if (from != null)
+      filters.append(" AND w.date >= :from");
+    if (to != null)
+      filters.append(" AND w.date <= :to");
+
+    var branches = new ArrayList<String>();
+    // Con filtro de estación las notas del workout no aplican
+    if (station == null) {
+      branches.add("""
+          SELECT 'WORKOUT' AS kind, w.id, w.id AS workout_id, w.date, w.type, NULL AS station, w.notas,
+                 CAST(ts_rank_cd(w.notas_tsv, q.tsq) + word_similarity(:q, w.notas) AS real) AS score
+          FROM workouts w, q
+          WHERE w.notas IS NOT NULL
+            AND (w.notas_tsv @@ q.tsq OR :q <% w.notas)
+          """ + filters);
+    }
+    branches.add("""
+        SELECT 'STATION' AS kind, e.id, w.id AS workout_id, w.date, w.type, e.station::text AS station, e.notas,
+               CAST(ts_rank_cd(e.notas_tsv, q.tsq) + word_similarity(:q, e.notas) AS real) AS score
+        FROM hyrox_station_entries e
+        JOIN workouts w ON w.id = e.workout_id, q
+        WHERE e.notas IS NOT NULL
+          AND (e.notas_tsv @@ q.tsq OR :q <% e.notas)
+        """ + filters + (station != null ? " AND e.station = CAST(:station AS hyrox_station)" : ""));
+
+    var sql = """
+        WITH q AS (SELECT websearch_to_tsquery('simple', :q) AS tsq)
+        SELECT p.kind, p.id, p.workout_id, p.date, p.type, p.station, p.score,
+               ts_headline('simple',
+                 replace(replace(replace(p.notas, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'),
+                 q.tsq, :opts) AS snippet
+        FROM (
+          SELECT * FROM (
+        """ + String.join(" UNION ALL ", branches) + """
+          ) r
+        """ + (afterId != null ? " WHERE (r.score < :afterScore OR (r.score = :afterScore AND r.id > :afterId))" : "") + """
+          ORDER BY r.score DESC, r.id
+          LIMIT :limit
+        ) p, q
+        ORDER BY p.score DESC, p.id
+        """;
+
+    var query = em.createNativeQuery(sql);
+    query.setParameter("q", text);
+    query.setParameter("opts", HEADLINE_OPTS);
+    query.setParameter("limit", limit);
+    if (type != null)
+      query.setParameter("type", type.name());
+    if (station != null)
+      query.setParameter("station", station.name());
+    if (from != null)
+      query.setParameter("from", from);
+    if (to != null)
+      query.setParameter("to", to);
+    if (afterId != null) {
+      query.setParameter("afterScore", afterScore);
+      query.setParameter("afterId", afterId);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = query.getResultList();
+
+    var out = new ArrayList<Map<String, Object>>();
+    for (Object[] r : rows) {
+      var m = new HashMap<String, Object>();
+      m.put("kind", r[0]);
+      m.put("id", r[1]);
+      m.put("workoutId", r[2]);
+      m.put("date", r[3]); // java.sql.Date
+      m.put("type", r[4]);
+      m.put("station", r[5]);
+      m.put("score", ((Number) r[6]).floatValue());
+      m.put("snippet", r[7]);
+      out.add(m);
+    }
+    return out;
+  }
+}
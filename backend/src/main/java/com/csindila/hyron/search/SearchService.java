@@ -0,0 +1,74 @@
+package com.csindila.hyron.search;
+
+import org.springframework.stereotype.Service;
+
+import com.csindila.hyron.workout.model.HyroxStation;
+import com.csindila.hyron.workout.model.WorkoutType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class SearchService {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    private final SearchRepository repo;
+
+    public SearchService(SearchRepository repo) {
+        this.repo = repo;
+    }
+
+    public Map<String, Object> searchNotes(String q, WorkoutType type, HyroxStation station,
+            LocalDate from, LocalDate to, String cursor, Integer limit) {
+        var text = q == null ? "" : q.trim();
+        if (text.length() < 2) {
+            throw new IllegalArgumentException("La búsqueda necesita al menos 2 caracteres");
+        }
+        int size = (limit == null) ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        Float afterScore = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            var c = decodeCursor(cursor);
+            afterScore = (Float) c[0];
+            afterId = (UUID) c[1];
+        }
+
+        // Pedimos una fila de más para saber si hay página siguiente
+        var items = repo.searchNotes(text, type, station, from, to, afterScore, afterId, size + 1);
+        String next = null;
+        if (items.size() > size) {
+            items = items.subList(0, size);
+            var last = items.get(size - 1);
+            next = encodeCursor((Float) last.get("score"), (UUID) last.get("id"));
+        }
+
+        Map<String, Object> res = new HashMap<>();
+        res.put("q", text);
+        res.put("items", items);
+        res.put("nextCursor", next);
+        return res;
+    }
+
+    // Cursor opaco: base64url("score|id"); Float.toString es reversible sin pérdida
+    private static String encodeCursor(Float score, UUID id) {
+        var raw = score + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object[] decodeCursor(String cursor) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new Object[] { Float.valueOf(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)) };
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Cursor no válido");
+        }
+    }
+}
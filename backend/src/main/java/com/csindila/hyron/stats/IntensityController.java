@@ -0,0 +1,28 @@
+package com.csindila.hyron.stats;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/stats")
+public class IntensityController {
+
+    private final IntensityService service;
+
+    public IntensityController(IntensityService service) {
+        this.service = service;
+    }
+
+    @GetMapping("/intensity")
+    public ResponseEntity<?> intensity(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer lt1,
+            @RequestParam(required = false) Integer lt2,
+            @RequestParam(required = false) String kernel) {
+        return ResponseEntity.ok(service.distribution(from, to, lt1, lt2, kernel));
+    }
+}
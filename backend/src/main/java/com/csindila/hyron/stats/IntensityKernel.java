@@ -0,0 +1,36 @@
+package com.csindila.hyron.stats;
+
+/**
+ * Núcleo de la distribución de intensidad sobre arrays primitivos (una posición por sesión).
+ * hr = 0 significa "sin FC". classify escribe en zone[i] la zona de cada sesión:
+ * 0/1/2 = fácil/moderada/dura por FC, 3/4/5 = fácil/moderada/dura por RPE.
+ * Se clasifica el rango entero de una vez (lo vectorizable) y luego fold reparte
+ * por semanas. Todo es aritmética entera: cualquier implementación da exactamente
+ * el mismo resultado.
+ */
+public interface IntensityKernel {
+
+    // [0] seg fáciles, [1] seg moderados, [2] seg duros, [3] sesiones por FC, [4] sesiones por RPE
+    int OUT_SIZE = 5;
+
+    // Zona desplazada para las sesiones clasificadas por RPE
+    int RPE_OFFSET = 3;
+
+    void classify(int[] hr, int[] rpe, int from, int to, IntensityZones zones, int[] zone);
+
+    String name();
+
+    // Acumula en out las sesiones [from, to) ya clasificadas
+    static void fold(int[] durationSec, int[] zone, int from, int to, long[] out) {
+        for (int i = from; i < to; i++) {
+            int z = zone[i];
+            if (z < RPE_OFFSET) {
+                out[z] += durationSec[i];
+                out[3]++;
+            } else {
+                out[z - RPE_OFFSET] += durationSec[i];
+                out[4]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.csindila.hyron.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class IntensityService {
+
+    private static final Logger log = LoggerFactory.getLogger(IntensityService.class);
+
+    private final StatsRepository repo;
+    private final IntensityZones defaultZones;
+    private final IntensityKernel scalar = new ScalarIntensityKernel();
+    private final IntensityKernel kernel;
+
+    public IntensityService(StatsRepository repo,
+            @Value("${hyron.intensity.hr-lt1:150}") int hrLt1,
+            @Value("${hyron.intensity.hr-lt2:170}") int hrLt2,
+            @Value("${hyron.intensity.rpe-easy-max:4}") int rpeEasyMax,
+            @Value("${hyron.intensity.rpe-hard-min:7}") int rpeHardMin,
+            @Value("${hyron.intensity.vectorized:true}") boolean vectorized) {
+        this.repo = repo;
+        this.defaultZones = new IntensityZones(hrLt1, hrLt2, rpeEasyMax, rpeHardMin);
+        // Sólo se carga la clase vectorial si el módulo está presente (--add-modules)
+        boolean available = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        this.kernel = (vectorized && available) ? new VectorIntensityKernel() : scalar;
+        log.info("Kernel de intensidad: {}", kernel.name());
+    }
+
+    private LocalDate[] range(LocalDate from, LocalDate to) {
+        LocalDate t = (to == null) ? LocalDate.now() : to;
+        LocalDate f = (from == null) ? t.minusWeeks(12) : from; // por defecto 12 semanas
+        if (f.isAfter(t)) {
+            var x = f;
+            f = t;
+            t = x;
+        }
+        return new LocalDate[] { f, t };
+    }
+
+    // Tiempo en zona y reparto fácil/moderado/duro por semana (y total del rango).
+    // "kernel" permite forzar scalar|vector para comparar resultados.
+    public Map<String, Object> distribution(LocalDate from, LocalDate to, Integer hrLt1, Integer hrLt2,
+            String kernelName) {
+        var r = range(from, to);
+        var zones = new IntensityZones(
+                hrLt1 == null ? defaultZones.hrLt1() : hrLt1,
+                hrLt2 == null ? defaultZones.hrLt2() : hrLt2,
+                defaultZones.rpeEasyMax(),
+                defaultZones.rpeHardMin());
+        if (zones.hrLt1() >= zones.hrLt2()) {
+            throw new IllegalArgumentException("lt1 debe ser menor que lt2");
+        }
+        var k = "scalar".equals(kernelName) ? scalar : kernel;
+
+        // Columnas primitivas + inicio de cada semana (filas ya ordenadas por fecha)
+        var rows = repo.intensityInputs(r[0], r[1]);
+        int n = rows.size();
+        int[] dur = new int[n], hr = new int[n], rpe = new int[n];
+        var weekStarts = new ArrayList<LocalDate>();
+        var weekOffsets = new ArrayList<Integer>();
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            var date = toLocalDate(row[0]).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            if (weekStarts.isEmpty() || !weekStarts.get(weekStarts.size() - 1).equals(date)) {
+                weekStarts.add(date);
+                weekOffsets.add(i);
+            }
+            dur[i] = ((Number) row[1]).intValue();
+            hr[i] = ((Number) row[2]).intValue();
+            rpe[i] = ((Number) row[3]).intValue();
+        }
+        weekOffsets.add(n);
+
+        // Una sola pasada del kernel sobre todo el rango (una semana son pocas sesiones,
+        // menos que los carriles de un vector); el reparto por semanas es escalar
+        int[] zone = new int[n];
+        k.classify(hr, rpe, 0, n, zones, zone);
+
+        var weeks = new ArrayList<List<Object>>();
+        long[] total = new long[IntensityKernel.OUT_SIZE];
+        long[] out = new long[IntensityKernel.OUT_SIZE];
+        for (int w = 0; w < weekStarts.size(); w++) {
+            Arrays.fill(out, 0);
+            IntensityKernel.fold(dur, zone, weekOffsets.get(w), weekOffsets.get(w + 1), out);
+            for (int j = 0; j < out.length; j++)
+                total[j] += out[j];
+            weeks.add(toRow(weekStarts.get(w), out));
+        }
+
+        Map<String, Object> res = new HashMap<>();
+        res.put("from", r[0]);
+        res.put("to", r[1]);
+        res.put("zones", zones);
+        res.put("kernel", k.name());
+        res.put("columns", List.of("weekStart", "easySec", "moderateSec", "hardSec",
+                "easyPct", "moderatePct", "hardPct", "hrSessions", "rpeSessions"));
+        res.put("rows", weeks);
+        res.put("total", toRow(null, total));
+        return res;
+    }
+
+    private static List<Object> toRow(LocalDate weekStart, long[] out) {
+        long sum = out[0] + out[1] + out[2];
+        return Arrays.asList(weekStart, out[0], out[1], out[2],
+                pct(out[0], sum), pct(out[1], sum), pct(out[2], sum), out[3], out[4]);
+    }
+
+    private static double pct(long part, long sum) {
+        return sum == 0 ? 0.0 : Math.round(part * 1000.0 / sum) / 10.0;
+    }
+
+    private static LocalDate toLocalDate(Object o) {
+        return (o instanceof java.sql.Date d) ? d.toLocalDate() : (LocalDate) o;
+    }
+}
@@ -0,0 +1,10 @@
+package com.csindila.hyron.stats;
+
+// Modelo de 3 zonas (polarizado): FC < lt1 fácil, FC >= lt2 duro.
+// Sin FC se clasifica por RPE: <= rpeEasyMax fácil, >= rpeHardMin duro.
+public record IntensityZones(
+    int hrLt1,
+    int hrLt2,
+    int rpeEasyMax,
+    int rpeHardMin
+) {}
@@ -0,0 +1,30 @@
+package com.csindila.hyron.stats;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.csindila.hyron.workout.model.HyroxStation;
+
+@RestController
+@RequestMapping("/api/stats/leaderboard")
+public class LeaderboardController {
+
+    private final LeaderboardService service;
+
+    public LeaderboardController(LeaderboardService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> leaderboard(
+            @RequestParam(required = false) HyroxStation station,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(service.leaderboard(station, limit));
+    }
+
+    // Verificación del índice contra SQL (ROW_NUMBER)
+    @GetMapping("/check")
+    public ResponseEntity<?> check(@RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(service.check(limit));
+    }
+}
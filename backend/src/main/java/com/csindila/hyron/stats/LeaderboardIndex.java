@@ -0,0 +1,182 @@
+package com.csindila.hyron.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.csindila.hyron.archive.ArchiveRepository;
+import com.csindila.hyron.workout.model.HyroxStation;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Índice en memoria del leaderboard de estaciones: por cada (estación, tramo de peso,
+ * tramo de distancia) un skip list ordenado por (tiempo, fecha, id). Un top-k es
+ * recorrer los k primeros nodos; altas/cambios/bajas cuestan O(log n).
+ * Se carga al arrancar (parciales calientes y de temporadas archivadas) y lo
+ * mantiene HyroxStationController. Una recarga construye mapas nuevos y los
+ * publica de golpe: las lecturas nunca ven un índice vacío o a medias.
+ */
+@Component
+public class LeaderboardIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardIndex.class);
+
+    public record BracketKey(HyroxStation station, Integer weightFromKg, Integer distanceFromM) {
+    }
+
+    public record Effort(UUID entryId, UUID workoutId, LocalDate date, HyroxStation station,
+            BigDecimal pesoKg, Integer distanceM, int timeSec, boolean archived) {
+    }
+
+    // Mismo orden que uuid en Postgres (bytes sin signo) para que el desempate coincida con SQL
+    private static final Comparator<Effort> ORDER = Comparator
+            .comparingInt(Effort::timeSec)
+            .thenComparing(Effort::date)
+            .thenComparing(e -> e.entryId().getMostSignificantBits(), Long::compareUnsigned)
+            .thenComparing(e -> e.entryId().getLeastSignificantBits(), Long::compareUnsigned);
+
+    private static final Comparator<BracketKey> KEY_ORDER = Comparator
+            .comparing(BracketKey::station)
+            .thenComparing(BracketKey::weightFromKg, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(BracketKey::distanceFromM, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final StatsRepository repo;
+    private final ArchiveRepository archive;
+    private final int weightStepKg;
+    private final int distanceStepM;
+
+    // Contenido del índice; se sustituye entero en cada recarga
+    private record State(Map<BracketKey, ConcurrentSkipListSet<Effort>> brackets, Map<UUID, Effort> byId) {
+        State() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private volatile State state = new State();
+
+    public LeaderboardIndex(StatsRepository repo, ArchiveRepository archive,
+            @Value("${hyron.leaderboard.weight-step-kg:5}") int weightStepKg,
+            @Value("${hyron.leaderboard.distance-step-m:50}") int distanceStepM) {
+        this.repo = repo;
+        this.archive = archive;
+        this.weightStepKg = weightStepKg;
+        this.distanceStepM = distanceStepM;
+    }
+
+    public int weightStepKg() {
+        return weightStepKg;
+    }
+
+    public int distanceStepM() {
+        return distanceStepM;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        var next = new State();
+        for (Object[] r : repo.stationEfforts())
+            add(next, toEffort(r, false));
+        int hot = next.byId().size();
+        for (Object[] r : archive.archivedStationEfforts())
+            add(next, toEffort(r, true));
+        state = next;
+        log.info("Leaderboard cargado: {} parciales ({} archivados) en {} tramos",
+                next.byId().size(), next.byId().size() - hot, next.brackets().size());
+    }
+
+    // Alta, cambio o baja de una estación, llamado tras confirmar la escritura.
+    // Relee la fila bajo el lock del índice: con escrituras concurrentes sobre la misma
+    // estación, la última relectura ve el último commit y el índice converge sea cual
+    // sea el orden de las llamadas (sin tiempo parcial no entra en el ranking).
+    public synchronized void refresh(UUID entryId) {
+        remove(entryId);
+        repo.stationEffort(entryId).ifPresent(r -> add(state, toEffort(r, false)));
+    }
+
+    private void remove(UUID entryId) {
+        var s = state;
+        var old = s.byId().remove(entryId);
+        if (old == null)
+            return;
+        var key = keyOf(old);
+        var set = s.brackets().get(key);
+        if (set != null) {
+            set.remove(old);
+            if (set.isEmpty())
+                s.brackets().remove(key);
+        }
+    }
+
+    // Top-k de cada tramo (de una estación o de todas), tramos ordenados
+    public Map<BracketKey, List<Effort>> top(HyroxStation station, int k) {
+        return top(station, k, false);
+    }
+
+    // Con hotOnly se ignoran los parciales archivados (lo que ve SQL sobre las tablas calientes)
+    public Map<BracketKey, List<Effort>> top(HyroxStation station, int k, boolean hotOnly) {
+        var brackets = state.brackets();
+        var keys = new ArrayList<BracketKey>();
+        for (var key : brackets.keySet()) {
+            if (station == null || key.station() == station)
+                keys.add(key);
+        }
+        keys.sort(KEY_ORDER);
+
+        var out = new LinkedHashMap<BracketKey, List<Effort>>();
+        for (var key : keys) {
+            var set = brackets.get(key);
+            if (set == null)
+                continue;
+            var items = new ArrayList<Effort>(k);
+            for (var it = set.iterator(); it.hasNext() && items.size() < k;) {
+                var e = it.next();
+                if (!hotOnly || !e.archived())
+                    items.add(e);
+            }
+            if (!items.isEmpty())
+                out.put(key, items);
+        }
+        return out;
+    }
+
+    private BracketKey keyOf(Effort e) {
+        Integer w = (e.pesoKg() == null) ? null
+                : e.pesoKg().divideToIntegralValue(BigDecimal.valueOf(weightStepKg)).intValue() * weightStepKg;
+        Integer d = (e.distanceM() == null) ? null : (e.distanceM() / distanceStepM) * distanceStepM;
+        return new BracketKey(e.station(), w, d);
+    }
+
+    private void add(State s, Effort e) {
+        s.byId().put(e.entryId(), e);
+        s.brackets().computeIfAbsent(keyOf(e), k -> new ConcurrentSkipListSet<>(ORDER)).add(e);
+    }
+
+    private static Effort toEffort(Object[] r, boolean archived) {
+        return new Effort(
+                (UUID) r[0],
+                (UUID) r[1],
+                toLocalDate(r[2]),
+                HyroxStation.valueOf((String) r[3]),
+                r[4] == null ? null : new BigDecimal(r[4].toString()),
+                r[5] == null ? null : ((Number) r[5]).intValue(),
+                ((Number) r[6]).intValue(),
+                archived);
+    }
+
+    private static LocalDate toLocalDate(Object o) {
+        return (o instanceof java.sql.Date d) ? d.toLocalDate() : (LocalDate) o;
+    }
+}
@@ -0,0 +1,114 @@
+package com.csindila.hyron.stats;
+
+import org.springframework.stereotype.Service;
+
+import com.csindila.hyron.workout.model.HyroxStation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class LeaderboardService {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    private final LeaderboardIndex index;
+    private final StatsRepository repo;
+
+    public LeaderboardService(LeaderboardIndex index, StatsRepository repo) {
+        this.index = index;
+        this.repo = repo;
+    }
+
+    // Top-k por estación y tramo (peso / distancia), directamente del índice
+    public Map<String, Object> leaderboard(HyroxStation station, Integer limit) {
+        int k = limit(limit);
+        var brackets = new ArrayList<Map<String, Object>>();
+        index.top(station, k).forEach((key, efforts) -> {
+            var items = new ArrayList<Map<String, Object>>();
+            int rank = 1;
+            for (var e : efforts) {
+                var m = new HashMap<String, Object>();
+                m.put("rank", rank++);
+                m.put("entryId", e.entryId());
+                m.put("workoutId", e.workoutId());
+                m.put("date", e.date());
+                m.put("timeSec", e.timeSec());
+                m.put("pesoKg", e.pesoKg());
+                m.put("distanceM", e.distanceM());
+                m.put("archived", e.archived());
+                // Los archivados ya no están en /api/workouts (ver /api/archive)
+                m.put("href", e.archived() ? null : "/api/workouts/" + e.workoutId() + "/stations");
+                items.add(m);
+            }
+            var b = bracket(key);
+            b.put("items", items);
+            brackets.add(b);
+        });
+
+        Map<String, Object> res = new HashMap<>();
+        res.put("station", station);
+        res.put("limit", k);
+        res.put("brackets", brackets);
+        return res;
+    }
+
+    // Compara el índice con ROW_NUMBER() en SQL; lista los tramos que no coinciden.
+    // La línea base sólo ve tablas calientes, así que se comparan los parciales no archivados.
+    public Map<String, Object> check(Integer limit) {
+        int k = limit(limit);
+        var expected = new LinkedHashMap<LeaderboardIndex.BracketKey, List<UUID>>();
+        for (Object[] r : repo.stationTopKBaseline(k, index.weightStepKg(), index.distanceStepM())) {
+            var key = new LeaderboardIndex.BracketKey(
+                    HyroxStation.valueOf((String) r[0]),
+                    r[1] == null ? null : ((Number) r[1]).intValue(),
+                    r[2] == null ? null : ((Number) r[2]).intValue());
+            expected.computeIfAbsent(key, x -> new ArrayList<>()).add((UUID) r[3]);
+        }
+
+        var actual = new HashMap<LeaderboardIndex.BracketKey, List<UUID>>();
+        index.top(null, k, true).forEach((key, efforts) -> actual.put(key,
+                efforts.stream().map(LeaderboardIndex.Effort::entryId).toList()));
+
+        var mismatches = new ArrayList<Map<String, Object>>();
+        var keys = new LinkedHashSet<LeaderboardIndex.BracketKey>(expected.keySet());
+        keys.addAll(actual.keySet());
+        for (var key : keys) {
+            var exp = expected.getOrDefault(key, List.of());
+            var act = actual.getOrDefault(key, List.of());
+            if (!exp.equals(act)) {
+                var b = bracket(key);
+                b.put("expected", exp);
+                b.put("actual", act);
+                mismatches.add(b);
+            }
+        }
+
+        Map<String, Object> res = new HashMap<>();
+        res.put("limit", k);
+        res.put("brackets", keys.size());
+        res.put("consistent", mismatches.isEmpty());
+        res.put("mismatches", mismatches);
+        return res;
+    }
+
+    private Map<String, Object> bracket(LeaderboardIndex.BracketKey key) {
+        var b = new HashMap<String, Object>();
+        b.put("station", key.station());
+        b.put("weightFromKg", key.weightFromKg());
+        b.put("weightToKg", key.weightFromKg() == null ? null : key.weightFromKg() + index.weightStepKg());
+        b.put("distanceFromM", key.distanceFromM());
+        b.put("distanceToM", key.distanceFromM() == null ? null : key.distanceFromM() + index.distanceStepM());
+        return b;
+    }
+
+    private static int limit(Integer limit) {
+        return (limit == null) ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -14,6 +14,24 @@ public class PersonalBestsService {
     @PersistenceContext
     private EntityManager em;
 
+    // Workouts con distancia de un deporte en [from,to] más el mejor ritmo de cada día
+    // de las temporadas archivadas (archive_daily_best), con las mismas columnas
+    private static String paceSource(String type) {
+        return """
+                (
+                  SELECT id, date, duration_sec, distance_km
+                  FROM workouts
+                  WHERE type = '%1$s' AND distance_km IS NOT NULL AND distance_km > 0
+                    AND date >= :from AND date <= :to
+                  UNION ALL
+                  SELECT workout_id, day, duration_sec, distance_km
+                  FROM archive_daily_best
+                  WHERE kind = '%1$s'
+                    AND day >= :from AND day <= :to
+                ) p
+                """.formatted(type);
+    }
+
     private LocalDate[] range(LocalDate from, LocalDate to) {
         LocalDate t = (to == null) ? LocalDate.now() : to;
         LocalDate f = (from == null) ? t.minusDays(365) : from; // por defecto 1 año
@@ -32,34 +50,28 @@ public class PersonalBestsService {
         var run = em.createNativeQuery("""
                     SELECT id, date, duration_sec, distance_km,
                            (duration_sec / NULLIF(distance_km,0)) / 60.0 AS pace_min_km
-                    FROM workouts
-                    WHERE type = 'RUN' AND distance_km IS NOT NULL AND distance_km > 0
-                      AND date >= :from AND date <= :to
+                    FROM %s
                     ORDER BY pace_min_km ASC
                     LIMIT 1
-                """).setParameter("from", r[0]).setParameter("to", r[1]).getResultList();
+                """.formatted(paceSource("RUN"))).setParameter("from", r[0]).setParameter("to", r[1]).getResultList();
 
         // RUN: mejor 5K estimado (min) en el rango (coherente con S3)
         var run5 = em.createNativeQuery("""
                     SELECT id, date,
                            (duration_sec / NULLIF(distance_km,0)) / 60.0 * 5.0 AS est_5k_min
-                    FROM workouts
-                    WHERE type='RUN' AND distance_km IS NOT NULL AND distance_km > 0
-                      AND date >= :from AND date <= :to
+                    FROM %s
                     ORDER BY est_5k_min ASC
                     LIMIT 1
-                """).setParameter("from", r[0]).setParameter("to", r[1]).getResultList();
+                """.formatted(paceSource("RUN"))).setParameter("from", r[0]).setParameter("to", r[1]).getResultList();
 
         // SWIM: mejor ritmo medio (min/100m) en el rango
         var swim = em.createNativeQuery("""
                     SELECT id, date, duration_sec, distance_km,
                            (duration_sec / NULLIF(distance_km*10,0)) / 60.0 AS pace_min_100m
-                    FROM workouts
-                    WHERE type = 'SWIM' AND distance_km IS NOT NULL AND distance_km > 0
-                      AND date >= :from AND date <= :to
+                    FROM %s
                     ORDER BY pace_min_100m ASC
                     LIMIT 1
-                """).setParameter("from", r[0]).setParameter("to", r[1]).getResultList();
+                """.formatted(paceSource("SWIM"))).setParameter("from", r[0]).setParameter("to", r[1]).getResultList();
 
         var out = new HashMap<String, Object>();
         out.put("from", r[0]);
@@ -0,0 +1,20 @@
+package com.csindila.hyron.stats;
+
+public class ScalarIntensityKernel implements IntensityKernel {
+
+    @Override
+    public void classify(int[] hr, int[] rpe, int from, int to, IntensityZones zones, int[] zone) {
+        for (int i = from; i < to; i++) {
+            if (hr[i] > 0) {
+                zone[i] = hr[i] < zones.hrLt1() ? 0 : hr[i] >= zones.hrLt2() ? 2 : 1;
+            } else {
+                zone[i] = RPE_OFFSET + (rpe[i] <= zones.rpeEasyMax() ? 0 : rpe[i] >= zones.rpeHardMin() ? 2 : 1);
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
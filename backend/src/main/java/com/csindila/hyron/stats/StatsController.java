@@ -15,6 +15,9 @@ import java.time.LocalDate;
 @RequestMapping("/api/stats")
 public class StatsController {
 
+    // Variante JSON columnar (array de arrays) para series largas
+    public static final String COLUMNAR_JSON = "application/vnd.hyron.columnar+json";
+
     private final StatsService service;
 
     public StatsController(StatsService service) {
@@ -28,6 +31,13 @@ public class StatsController {
         return ResponseEntity.ok(service.weekly(from, to));
     }
 
+    @GetMapping(value = "/weekly", produces = COLUMNAR_JSON)
+    public ResponseEntity<?> weeklyColumnar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(service.weeklyColumnar(from, to));
+    }
+
     @GetMapping("/best-run")
     public ResponseEntity<?> bestRun(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
@@ -49,6 +59,23 @@ public class StatsController {
         return ResponseEntity.ok(service.calendar(from, to));
     }
 
+    @GetMapping(value = "/calendar", produces = COLUMNAR_JSON)
+    public ResponseEntity<?> calendarColumnar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(service.calendarColumnar(from, to));
+    }
+
+    // ?grain=week&sets=period,type;station;total  (sets separados por ';')
+    @GetMapping("/cube")
+    public ResponseEntity<?> cube(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String grain,
+            @RequestParam(required = false) String sets) {
+        return ResponseEntity.ok(service.cube(from, to, grain, sets));
+    }
+
     @GetMapping("/calendar/day")
     public ResponseEntity<?> day(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public class StatsRepository {
@@ -20,13 +21,35 @@ public class StatsRepository {
   // A) Volumen semanal en rango [from,to] (guardamos total_sec y convertimos en
   // el service)
   public List<Map<String, Object>> weeklyVolume(LocalDate from, LocalDate to) {
+    List<Map<String, Object>> out = new ArrayList<>();
+    for (Object[] r : weeklyVolumeRows(from, to)) {
+      Map<String, Object> m = new HashMap<>();
+      m.put("weekStart", r[0]); // java.sql.Date
+      m.put("totalSec", ((Number) r[1]).longValue()); // <-- ahora en segundos
+      m.put("sessions", ((Number) r[2]).intValue());
+      out.add(m);
+    }
+    return out;
+  }
+
+  // A') Igual que A) pero en filas crudas [week_start, total_sec, sessions]
+  // (sin un Map por fila; lo usa la variante columnar).
+  // Las temporadas archivadas entran por sus agregados diarios (archive_daily_volume).
+  public List<Object[]> weeklyVolumeRows(LocalDate from, LocalDate to) {
     var q = em.createNativeQuery("""
         SELECT
-          date_trunc('week', w.date)::date AS week_start,
-          SUM(w.duration_sec) AS total_sec,
-          COUNT(*) AS sessions
-        FROM workouts w
-        WHERE w.date >= :from AND w.date <= :to
+          date_trunc('week', v.day)::date AS week_start,
+          SUM(v.total_sec) AS total_sec,
+          SUM(v.sessions) AS sessions
+        FROM (
+          SELECT w.date AS day, w.duration_sec::bigint AS total_sec, 1 AS sessions
+          FROM workouts w
+          WHERE w.date >= :from AND w.date <= :to
+          UNION ALL
+          SELECT a.day, a.total_sec, a.sessions
+          FROM archive_daily_volume a
+          WHERE a.day >= :from AND a.day <= :to
+        ) v
         GROUP BY 1
         ORDER BY 1 DESC
         """);
@@ -35,20 +58,12 @@ public class StatsRepository {
 
     @SuppressWarnings("unchecked")
     List<Object[]> rows = q.getResultList();
-
-    List<Map<String, Object>> out = new ArrayList<>();
-    for (Object[] r : rows) {
-      Map<String, Object> m = new HashMap<>();
-      m.put("weekStart", r[0]); // java.sql.Date
-      m.put("totalSec", ((Number) r[1]).longValue()); // <-- ahora en segundos
-      m.put("sessions", ((Number) r[2]).intValue());
-      out.add(m);
-    }
-    return out;
+    return rows;
   }
 
   // B) Mejor 5K estimado en rango (RUN con distance_km > 0) usando duration_sec
   // Fórmula: est_5k_min = (duration_sec / distance_km) / 60 * 5
+  // (archivado: el mejor ritmo de cada día ya está en archive_daily_best)
   public Optional<Map<String, Object>> bestRun5k(LocalDate from, LocalDate to) {
     var q = em.createNativeQuery("""
         SELECT
@@ -57,10 +72,18 @@ public class StatsRepository {
           duration_sec,
           distance_km,
           (duration_sec / NULLIF(distance_km,0)) / 60.0 * 5.0 AS est_5k_min
-        FROM workouts
-        WHERE type = 'RUN'
-          AND distance_km IS NOT NULL AND distance_km > 0
-          AND date >= :from AND date <= :to
+        FROM (
+          SELECT id, date, duration_sec, distance_km
+          FROM workouts
+          WHERE type = 'RUN'
+            AND distance_km IS NOT NULL AND distance_km > 0
+            AND date >= :from AND date <= :to
+          UNION ALL
+          SELECT workout_id, day, duration_sec, distance_km
+          FROM archive_daily_best
+          WHERE kind = 'RUN'
+            AND day >= :from AND day <= :to
+        ) r
         ORDER BY est_5k_min ASC
         LIMIT 1
         """);
@@ -85,13 +108,21 @@ public class StatsRepository {
   // C) Mejor tiempo por estación Hyrox (mínimo tiempo_parcial_seg) – sin cambios
   public List<Map<String, Object>> bestHyroxStations(LocalDate from, LocalDate to) {
     var q = em.createNativeQuery("""
-        SELECT e.station, MIN(e.tiempo_parcial_seg) AS best_sec
-        FROM hyrox_station_entries e
-        JOIN workouts w ON w.id = e.workout_id
-        WHERE e.tiempo_parcial_seg IS NOT NULL
-          AND w.date >= :from AND w.date <= :to
-        GROUP BY e.station
-        ORDER BY e.station
+        SELECT b.station, MIN(b.best_sec) AS best_sec
+        FROM (
+          SELECT e.station, e.tiempo_parcial_seg AS best_sec
+          FROM hyrox_station_entries e
+          JOIN workouts w ON w.id = e.workout_id
+          WHERE e.tiempo_parcial_seg IS NOT NULL
+            AND w.date >= :from AND w.date <= :to
+          UNION ALL
+          SELECT a.station, a.best_sec
+          FROM archive_daily_station a
+          WHERE a.best_sec IS NOT NULL
+            AND a.day >= :from AND a.day <= :to
+        ) b
+        GROUP BY b.station
+        ORDER BY b.station
         """);
     q.setParameter("from", from);
     q.setParameter("to", to);
@@ -110,22 +141,8 @@ public class StatsRepository {
 
   // D) Calendario: agregados por día en rango [from,to]
   public List<Map<String, Object>> calendarDaily(LocalDate from, LocalDate to) {
-    var q = em.createNativeQuery("""
-            SELECT w.date::date AS d,
-                   COUNT(*) AS sessions,
-                   SUM(w.duration_sec) AS total_sec
-            FROM workouts w
-            WHERE w.date >= :from AND w.date <= :to
-            GROUP BY d
-            ORDER BY d
-        """);
-    q.setParameter("from", from);
-    q.setParameter("to", to);
-    @SuppressWarnings("unchecked")
-    List<Object[]> rows = q.getResultList();
-
     var out = new ArrayList<Map<String, Object>>();
-    for (Object[] r : rows) {
+    for (Object[] r : calendarDailyRows(from, to)) {
       var m = new HashMap<String, Object>();
       m.put("date", r[0]); // java.sql.Date
       m.put("sessions", ((Number) r[1]).intValue());
@@ -135,6 +152,31 @@ public class StatsRepository {
     return out;
   }
 
+  // D') Igual que D) pero en filas crudas [d, sessions, total_sec]
+  public List<Object[]> calendarDailyRows(LocalDate from, LocalDate to) {
+    var q = em.createNativeQuery("""
+            SELECT v.day::date AS d,
+                   SUM(v.sessions) AS sessions,
+                   SUM(v.total_sec) AS total_sec
+            FROM (
+              SELECT w.date AS day, 1 AS sessions, w.duration_sec::bigint AS total_sec
+              FROM workouts w
+              WHERE w.date >= :from AND w.date <= :to
+              UNION ALL
+              SELECT a.day, a.sessions, a.total_sec
+              FROM archive_daily_volume a
+              WHERE a.day >= :from AND a.day <= :to
+            ) v
+            GROUP BY d
+            ORDER BY d
+        """);
+    q.setParameter("from", from);
+    q.setParameter("to", to);
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = q.getResultList();
+    return rows;
+  }
+
   // E) Listado simple por día (para el modal del calendario)
   public List<Map<String, Object>> workoutsByDate(LocalDate day) {
     var q = em.createNativeQuery("""
@@ -160,4 +202,155 @@ public class StatsRepository {
     }
     return out;
   }
+
+  // F) Cubo de volumen: una sola sentencia con GROUPING SETS sobre (period, type, station).
+  // "dims" son las dimensiones usadas por algún set, en orden period, type, station;
+  // "sets" los grouping sets pedidos (subconjuntos de dims; vacío = total).
+  // Filas nivel 0 = un workout; nivel 1 = (workout, estación) con sus parciales.
+  // Con station agrupada se suman las filas de nivel 1; sin ella, las de nivel 0.
+  // grain ya viene validado (day|week|month|year) y va como literal.
+  // Las temporadas archivadas aportan sus agregados diarios como filas de nivel 0
+  // (archive_daily_volume) y nivel 1 (archive_daily_station): se suman igual.
+  // Devuelve [period, type, station, grouping_bits, total_sec, distance_km, sessions, srpe_load]
+  public List<Object[]> volumeCube(LocalDate from, LocalDate to, String grain, List<String> dims,
+      List<List<String>> sets) {
+    boolean withStation = dims.contains("station");
+    String period = "date_trunc('" + grain + "', w.date)::date";
+    String archivedPeriod = "date_trunc('" + grain + "', a.day)::date";
+
+    var base = new StringBuilder("""
+        SELECT %s AS period, w.type AS type, NULL::text AS station, 0 AS lvl,
+               1 AS sessions, w.duration_sec::bigint AS sec, w.distance_km AS km,
+               w.rpe * w.duration_sec / 60.0 AS srpe
+        FROM workouts w
+        WHERE w.date >= :from AND w.date <= :to
+        UNION ALL
+        SELECT %s, a.type, NULL::text, 0,
+               a.sessions, a.total_sec, a.distance_km, a.srpe_load
+        FROM archive_daily_volume a
+        WHERE a.day >= :from AND a.day <= :to
+        """.formatted(period, archivedPeriod));
+    if (withStation) {
+      base.append("""
+          UNION ALL
+          SELECT %s, w.type, e.station::text, 1,
+                 1, COALESCE(SUM(e.tiempo_parcial_seg), 0)::bigint, SUM(e.distance_m) / 1000.0,
+                 w.rpe * COALESCE(SUM(e.tiempo_parcial_seg), 0) / 60.0
+          FROM hyrox_station_entries e
+          JOIN workouts w ON w.id = e.workout_id
+          WHERE w.date >= :from AND w.date <= :to
+          GROUP BY w.id, w.date, w.type, w.rpe, e.station
+          UNION ALL
+          SELECT %s, a.type, a.station::text, 1,
+                 a.sessions, a.total_sec, a.distance_km, a.srpe_load
+          FROM archive_daily_station a
+          WHERE a.day >= :from AND a.day <= :to
+          """.formatted(period, archivedPeriod));
+    }
+
+    String grouping = dims.isEmpty() ? "0" : "GROUPING(" + String.join(", ", dims) + ")";
+    String measures;
+    if (withStation) {
+      measures = """
+          CASE WHEN GROUPING(station) = 0 THEN SUM(sec) FILTER (WHERE lvl = 1) ELSE SUM(sec) FILTER (WHERE lvl = 0) END,
+          CASE WHEN GROUPING(station) = 0 THEN SUM(km) FILTER (WHERE lvl = 1) ELSE SUM(km) FILTER (WHERE lvl = 0) END,
+          CASE WHEN GROUPING(station) = 0 THEN SUM(sessions) FILTER (WHERE lvl = 1) ELSE SUM(sessions) FILTER (WHERE lvl = 0) END,
+          CASE WHEN GROUPING(station) = 0 THEN SUM(srpe) FILTER (WHERE lvl = 1) ELSE SUM(srpe) FILTER (WHERE lvl = 0) END
+          """;
+    } else {
+      measures = "SUM(sec), SUM(km), SUM(sessions), SUM(srpe)";
+    }
+
+    var groupingSets = new ArrayList<String>();
+    for (var set : sets)
+      groupingSets.add("(" + String.join(", ", set) + ")");
+
+    var sql = "WITH base AS (" + base + ")\n"
+        + "SELECT " + (dims.contains("period") ? "period" : "NULL") + ", "
+        + (dims.contains("type") ? "type" : "NULL") + ", "
+        + (withStation ? "station" : "NULL") + ", "
+        + grouping + ", " + measures + "\n"
+        + "FROM base\n"
+        + "GROUP BY GROUPING SETS (" + String.join(", ", groupingSets) + ")\n"
+        // Filas nivel 0 con station agrupada = "sin estación": no forman parte del desglose
+        + (withStation ? "HAVING GROUPING(station) = 1 OR station IS NOT NULL\n" : "")
+        + "ORDER BY 4 DESC, 1, 2, 3";
+
+    var q = em.createNativeQuery(sql);
+    q.setParameter("from", from);
+    q.setParameter("to", to);
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = q.getResultList();
+    return rows;
+  }
+
+  // G) Entradas del kernel de intensidad: [date, duration_sec, fc_media|0, rpe] por fecha
+  public List<Object[]> intensityInputs(LocalDate from, LocalDate to) {
+    var q = em.createNativeQuery("""
+        SELECT w.date, w.duration_sec, COALESCE(w.fc_media, 0), w.rpe
+        FROM workouts w
+        WHERE w.date >= :from AND w.date <= :to
+        ORDER BY w.date
+        """);
+    q.setParameter("from", from);
+    q.setParameter("to", to);
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = q.getResultList();
+    return rows;
+  }
+
+  // H) Todos los parciales de estación con tiempo (carga inicial del leaderboard):
+  // [id, workout_id, date, station, peso_kg, distance_m, tiempo_parcial_seg]
+  public List<Object[]> stationEfforts() {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = em.createNativeQuery("""
+        SELECT e.id, e.workout_id, w.date, e.station::text, e.peso_kg, e.distance_m, e.tiempo_parcial_seg
+        FROM hyrox_station_entries e
+        JOIN workouts w ON w.id = e.workout_id
+        WHERE e.tiempo_parcial_seg IS NOT NULL
+        """).getResultList();
+    return rows;
+  }
+
+  // H') Un parcial con tiempo (mismas columnas que H); vacío si no existe o no tiene tiempo.
+  // SQL nativo: lee lo confirmado en la tabla, no la caché L2
+  public Optional<Object[]> stationEffort(UUID entryId) {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = em.createNativeQuery("""
+        SELECT e.id, e.workout_id, w.date, e.station::text, e.peso_kg, e.distance_m, e.tiempo_parcial_seg
+        FROM hyrox_station_entries e
+        JOIN workouts w ON w.id = e.workout_id
+        WHERE e.id = :id AND e.tiempo_parcial_seg IS NOT NULL
+        """).setParameter("id", entryId).getResultList();
+    return rows.stream().findFirst();
+  }
+
+  // I) Referencia SQL del leaderboard: top-k por (estación, tramo de peso, tramo de distancia)
+  // con ROW_NUMBER() y el mismo desempate que el índice en memoria (tiempo, fecha, id).
+  // Devuelve [station, weight_from_kg, distance_from_m, id] en orden de ranking
+  public List<Object[]> stationTopKBaseline(int k, int weightStepKg, int distanceStepM) {
+    var q = em.createNativeQuery("""
+        SELECT station, wb, db, id
+        FROM (
+          SELECT e.station::text AS station,
+                 CAST(FLOOR(e.peso_kg / :ws) * :ws AS integer) AS wb,
+                 (e.distance_m / :ds) * :ds AS db,
+                 e.id,
+                 ROW_NUMBER() OVER (
+                   PARTITION BY e.station, FLOOR(e.peso_kg / :ws), e.distance_m / :ds
+                   ORDER BY e.tiempo_parcial_seg, w.date, e.id) AS rn
+          FROM hyrox_station_entries e
+          JOIN workouts w ON w.id = e.workout_id
+          WHERE e.tiempo_parcial_seg IS NOT NULL
+        ) r
+        WHERE rn <= :k
+        ORDER BY station, wb, db, rn
+        """);
+    q.setParameter("k", k);
+    q.setParameter("ws", weightStepKg);
+    q.setParameter("ds", distanceStepM);
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = q.getResultList();
+    return rows;
+  }
 }
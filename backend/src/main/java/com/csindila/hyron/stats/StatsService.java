@@ -2,8 +2,13 @@ package com.csindila.hyron.stats;
 
 import org.springframework.stereotype.Service;
 
+import com.csindila.hyron.archive.ArchiveRepository;
+
 import java.time.LocalDate;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.ArrayList;
@@ -11,10 +16,18 @@ import java.util.ArrayList;
 @Service
 public class StatsService {
 
+    // Dimensiones del cubo en el orden de los bits de GROUPING(...)
+    private static final List<String> CUBE_DIMS = List.of("period", "type", "station");
+    private static final List<String> CUBE_GRAINS = List.of("day", "week", "month", "year");
+    private static final String CUBE_DEFAULT_SETS = "period,type;period;type;total";
+    private static final int CUBE_MAX_SETS = 8;
+
     private final StatsRepository repo;
+    private final ArchiveRepository archive;
 
-    public StatsService(StatsRepository repo) {
+    public StatsService(StatsRepository repo, ArchiveRepository archive) {
         this.repo = repo;
+        this.archive = archive;
     }
 
     private LocalDate[] resolveRange(LocalDate from, LocalDate to) {
@@ -51,6 +64,16 @@ public class StatsService {
         return res;
     }
 
+    // Variante columnar: {from, to, columns:[...], rows:[[...], ...]}
+    public Map<String, Object> weeklyColumnar(LocalDate from, LocalDate to) {
+        var range = resolveRange(from, to);
+        var rows = new ArrayList<List<Object>>();
+        for (Object[] r : repo.weeklyVolumeRows(range[0], range[1])) {
+            rows.add(Arrays.asList(r[0], toMinutes(r[1]), ((Number) r[2]).intValue()));
+        }
+        return columnar(range, List.of("weekStart", "totalMinutes", "sessions"), rows);
+    }
+
     public Map<String, Object> bestRun(LocalDate from, LocalDate to) {
         var range = resolveRange(from, to);
         var opt = repo.bestRun5k(range[0], range[1]);
@@ -92,7 +115,94 @@ public class StatsService {
         return Map.of("from", range[0], "to", range[1], "days", days);
     }
 
+    public Map<String, Object> calendarColumnar(LocalDate from, LocalDate to) {
+        var range = resolveRange(from, to);
+        var rows = new ArrayList<List<Object>>();
+        for (Object[] r : repo.calendarDailyRows(range[0], range[1])) {
+            rows.add(Arrays.asList(r[0], toMinutes(r[2]), ((Number) r[1]).intValue()));
+        }
+        return columnar(range, List.of("date", "totalMinutes", "sessions"), rows);
+    }
+
+    // Cubo de volumen: "sets" = combinaciones de period/type/station separadas por ';'
+    // ("total" o vacío = total general). Todo sale de una única consulta con GROUPING SETS.
+    public Map<String, Object> cube(LocalDate from, LocalDate to, String grain, String sets) {
+        var range = resolveRange(from, to);
+        var g = (grain == null) ? "week" : grain.trim().toLowerCase();
+        if (!CUBE_GRAINS.contains(g)) {
+            throw new IllegalArgumentException("grain debe ser uno de " + CUBE_GRAINS);
+        }
+
+        var requested = ((sets == null || sets.isBlank()) ? CUBE_DEFAULT_SETS : sets).split(";", -1);
+        if (requested.length > CUBE_MAX_SETS) {
+            throw new IllegalArgumentException("Como mucho " + CUBE_MAX_SETS + " sets");
+        }
+        var parsed = new ArrayList<List<String>>();
+        for (var set : requested) {
+            var dims = new ArrayList<String>();
+            for (var d : set.split(",")) {
+                var dim = d.trim().toLowerCase();
+                if (dim.isEmpty() || dim.equals("total"))
+                    continue;
+                if (!CUBE_DIMS.contains(dim))
+                    throw new IllegalArgumentException("Dimensión desconocida: " + dim);
+                if (!dims.contains(dim))
+                    dims.add(dim);
+            }
+            dims.sort(Comparator.comparingInt(CUBE_DIMS::indexOf));
+            if (!parsed.contains(dims))
+                parsed.add(dims);
+        }
+        var used = CUBE_DIMS.stream().filter(d -> parsed.stream().anyMatch(s -> s.contains(d))).toList();
+
+        var rows = new ArrayList<List<Object>>();
+        for (Object[] r : repo.volumeCube(range[0], range[1], g, used, parsed)) {
+            rows.add(Arrays.asList(
+                    setLabel(((Number) r[3]).intValue(), used),
+                    r[0], r[1], r[2],
+                    r[4] == null ? 0L : ((Number) r[4]).longValue(),
+                    r[5] == null ? null : Math.round(((Number) r[5]).doubleValue() * 100.0) / 100.0,
+                    r[6] == null ? 0L : ((Number) r[6]).longValue(),
+                    r[7] == null ? 0.0 : Math.round(((Number) r[7]).doubleValue() * 10.0) / 10.0));
+        }
+
+        var res = columnar(range, List.of("set", "period", "type", "station",
+                "totalSec", "distanceKm", "sessions", "srpeLoad"), rows);
+        res.put("grain", g);
+        res.put("sets", parsed.stream().map(s -> String.join(",", s)).toList());
+        return res;
+    }
+
+    // Incluye los workouts archivados de ese día (marcados con archived = true)
     public Map<String, Object> day(LocalDate date) {
-        return Map.of("date", date, "items", repo.workoutsByDate(date));
+        var items = new ArrayList<Map<String, Object>>(repo.workoutsByDate(date));
+        items.addAll(archive.archivedWorkoutsOn(date));
+        return Map.of("date", date, "items", items);
+    }
+
+    // Helpers
+
+    private static int toMinutes(Object totalSec) {
+        return (int) Math.ceil(((Number) totalSec).longValue() / 60.0);
+    }
+
+    // GROUPING(d1, d2, ...) pone a 1 el bit de cada dimensión NO agrupada (d1 = bit más alto)
+    private static String setLabel(int groupingBits, List<String> used) {
+        var dims = new ArrayList<String>();
+        for (int i = 0; i < used.size(); i++) {
+            int bit = 1 << (used.size() - 1 - i);
+            if ((groupingBits & bit) == 0)
+                dims.add(used.get(i));
+        }
+        return String.join(",", dims);
+    }
+
+    private static Map<String, Object> columnar(LocalDate[] range, List<String> columns, List<List<Object>> rows) {
+        Map<String, Object> res = new HashMap<>();
+        res.put("from", range[0]);
+        res.put("to", range[1]);
+        res.put("columns", columns);
+        res.put("rows", rows);
+        return res;
     }
 }
@@ -0,0 +1,53 @@
+package com.csindila.hyron.stats;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Versión SIMD (Vector API) del kernel: clasifica un vector de sesiones con máscaras
+ * y blends en el mismo orden de prioridad que el escalar (fácil gana a duro), así
+ * el resultado es idéntico. La cola que no llena un vector la resuelve el kernel
+ * escalar. Sólo se instancia si el módulo jdk.incubator.vector está cargado
+ * (ver IntensityService).
+ */
+public class VectorIntensityKernel implements IntensityKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private final ScalarIntensityKernel tail = new ScalarIntensityKernel();
+
+    @Override
+    public void classify(int[] hr, int[] rpe, int from, int to, IntensityZones zones, int[] zone) {
+        var lt1 = IntVector.broadcast(SPECIES, zones.hrLt1());
+        var lt2 = IntVector.broadcast(SPECIES, zones.hrLt2());
+        var easyMax = IntVector.broadcast(SPECIES, zones.rpeEasyMax());
+        var hardMin = IntVector.broadcast(SPECIES, zones.rpeHardMin());
+        var moderateHr = IntVector.broadcast(SPECIES, 1);
+        var moderateRpe = IntVector.broadcast(SPECIES, RPE_OFFSET + 1);
+
+        int i = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; i < upper; i += SPECIES.length()) {
+            var h = IntVector.fromArray(SPECIES, hr, i);
+            var r = IntVector.fromArray(SPECIES, rpe, i);
+
+            var byHr = moderateHr
+                    .blend(2, h.compare(VectorOperators.GE, lt2))
+                    .blend(0, h.compare(VectorOperators.LT, lt1));
+            var byRpe = moderateRpe
+                    .blend(RPE_OFFSET + 2, r.compare(VectorOperators.GE, hardMin))
+                    .blend(RPE_OFFSET, r.compare(VectorOperators.LE, easyMax));
+
+            VectorMask<Integer> noHr = h.compare(VectorOperators.LE, 0);
+            byHr.blend(byRpe, noHr).intoArray(zone, i);
+        }
+        tail.classify(hr, rpe, i, to, zones, zone);
+    }
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+}
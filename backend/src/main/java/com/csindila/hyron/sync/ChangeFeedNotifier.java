@@ -0,0 +1,69 @@
+package com.csindila.hyron.sync;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Avisa a las peticiones en long-poll cuando el change log avanza.
+ * Sólo consulta MAX(seq) mientras haya alguien esperando; las peticiones
+ * esperan en un DeferredResult, sin ocupar hilos de Tomcat ni conexiones.
+ * Cada aviso (que vuelve a consultar el feed) corre en un pool propio, fuera
+ * del hilo de @Scheduled, y un fallo en uno no afecta al resto.
+ */
+@Component
+public class ChangeFeedNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedNotifier.class);
+
+    // waiter -> seq a partir del cual le interesa despertar
+    private final ConcurrentHashMap<LongConsumer, Long> waiters = new ConcurrentHashMap<>();
+    private final SyncService service;
+    private final ExecutorService dispatch = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    public ChangeFeedNotifier(SyncService service) {
+        this.service = service;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatch.shutdown();
+    }
+
+    public void await(long after, LongConsumer onChange) {
+        waiters.put(onChange, after);
+    }
+
+    public void cancel(LongConsumer onChange) {
+        waiters.remove(onChange);
+    }
+
+    @Scheduled(fixedDelay = 500)
+    void poll() {
+        if (waiters.isEmpty())
+            return;
+        long head = service.headSeq();
+        waiters.forEach((waiter, after) -> {
+            if (head > after && waiters.remove(waiter, after))
+                dispatch.execute(() -> wake(waiter, head));
+        });
+    }
+
+    private static void wake(LongConsumer waiter, long head) {
+        try {
+            waiter.accept(head);
+        } catch (RuntimeException ex) {
+            // Ese cliente responde al vencer su espera (página vacía); los demás siguen
+            log.warn("Fallo al despertar una petición de long-poll", ex);
+        }
+    }
+}
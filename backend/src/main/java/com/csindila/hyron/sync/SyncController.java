@@ -0,0 +1,64 @@
+package com.csindila.hyron.sync;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private static final int MAX_WAIT_SEC = 30;
+
+    private final SyncService service;
+    private final ChangeFeedNotifier notifier;
+
+    public SyncController(SyncService service, ChangeFeedNotifier notifier) {
+        this.service = service;
+        this.notifier = notifier;
+    }
+
+    // Cambios tras el cursor. Con waitSec > 0 y nada nuevo, espera (long-poll) hasta
+    // que haya cambios o venza el plazo; al vencer devuelve página vacía con el mismo cursor.
+    @GetMapping
+    public DeferredResult<ResponseEntity<?>> changes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "0") int waitSec) {
+        long after = service.parseCursor(cursor);
+        int wait = Math.max(0, Math.min(waitSec, MAX_WAIT_SEC));
+
+        var page = service.changes(after, limit);
+        if (wait == 0 || !isEmpty(page)) {
+            var now = new DeferredResult<ResponseEntity<?>>();
+            now.setResult(toResponse(page));
+            return now;
+        }
+
+        var result = new DeferredResult<ResponseEntity<?>>(wait * 1000L);
+        LongConsumer onChange = head -> result.setResult(toResponse(service.changes(after, limit)));
+        result.onTimeout(() -> result.setResult(toResponse(page)));
+        result.onCompletion(() -> notifier.cancel(onChange));
+        notifier.await(after, onChange);
+        return result;
+    }
+
+    private static boolean isEmpty(Map<String, Object> page) {
+        var changes = page.get("changes");
+        return changes instanceof List<?> l && l.isEmpty();
+    }
+
+    private static ResponseEntity<?> toResponse(Map<String, Object> page) {
+        if (Boolean.TRUE.equals(page.get("resync")))
+            return ResponseEntity.status(HttpStatus.GONE).body(page);
+        return ResponseEntity.ok(page);
+    }
+}
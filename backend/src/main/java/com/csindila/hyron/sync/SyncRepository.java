@@ -0,0 +1,127 @@
+package com.csindila.hyron.sync;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class SyncRepository {
+
+  @PersistenceContext
+  private EntityManager em;
+
+  // DML nativo con su tabla declarada (como SamplesRepository.update): sin ella
+  // Hibernate vacía toda la caché L2 y la de consultas en cada compactación
+  private NativeQuery<?> update(String sql, String table) {
+    return em.createNativeQuery(sql).unwrap(NativeQuery.class).addSynchronizedQuerySpace(table);
+  }
+
+  public long headSeq() {
+    var r = em.createNativeQuery("SELECT COALESCE(MAX(seq), 0) FROM change_log").getSingleResult();
+    return ((Number) r).longValue();
+  }
+
+  public long compactedThrough() {
+    var r = em.createNativeQuery("SELECT compacted_through FROM change_log_state WHERE id = 1").getSingleResult();
+    return ((Number) r).longValue();
+  }
+
+  // Cambios con seq > after, en orden, con el estado actual de la fila (null si es DELETE
+  // o si la fila ya no existe: en ese caso el DELETE llega más adelante en el feed)
+  public List<Map<String, Object>> changesAfter(long after, int limit) {
+    var q = em.createNativeQuery("""
+        SELECT c.seq, c.entity, c.op, c.entity_id, c.workout_id,
+               w.date, w.type, w.duration_sec, w.distance_km, w.rpe, w.fc_media, w.watts_medios, w.notas,
+               e.station::text, e.peso_kg, e.series, e.reps, e.tiempo_parcial_seg, e.distance_m, e.notas
+        FROM change_log c
+        LEFT JOIN workouts w
+          ON c.entity = 'WORKOUT' AND c.op <> 'DELETE' AND w.id = c.entity_id
+        LEFT JOIN hyrox_station_entries e
+          ON c.entity = 'STATION' AND c.op <> 'DELETE' AND e.id = c.entity_id
+        WHERE c.seq > :after
+        ORDER BY c.seq
+        LIMIT :limit
+        """);
+    q.setParameter("after", after);
+    q.setParameter("limit", limit);
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = q.getResultList();
+
+    var out = new ArrayList<Map<String, Object>>();
+    for (Object[] r : rows) {
+      var m = new HashMap<String, Object>();
+      m.put("seq", ((Number) r[0]).longValue());
+      m.put("entity", r[1]);
+      m.put("op", r[2]);
+      m.put("id", r[3]);
+      m.put("workoutId", r[4]);
+
+      Map<String, Object> data = null;
+      if ("WORKOUT".equals(r[1]) && r[5] != null) {
+        data = new HashMap<>();
+        data.put("id", r[3]);
+        data.put("date", r[5]); // java.sql.Date
+        data.put("type", r[6]);
+        data.put("durationSec", ((Number) r[7]).intValue());
+        data.put("distanceKm", r[8]);
+        data.put("rpe", ((Number) r[9]).intValue());
+        data.put("fcMedia", r[10] == null ? null : ((Number) r[10]).intValue());
+        data.put("wattsMedios", r[11] == null ? null : ((Number) r[11]).intValue());
+        data.put("notas", r[12]);
+      } else if ("STATION".equals(r[1]) && r[13] != null) {
+        data = new HashMap<>();
+        data.put("id", r[3]);
+        data.put("workoutId", r[4]);
+        data.put("station", r[13]);
+        data.put("pesoKg", r[14]);
+        data.put("series", r[15] == null ? null : ((Number) r[15]).intValue());
+        data.put("reps", r[16] == null ? null : ((Number) r[16]).intValue());
+        data.put("tiempoParcialSeg", r[17] == null ? null : ((Number) r[17]).intValue());
+        data.put("distanceM", r[18] == null ? null : ((Number) r[18]).intValue());
+        data.put("notas", r[19]);
+      }
+      m.put("data", data);
+      out.add(m);
+    }
+    return out;
+  }
+
+  // 1) Deja sólo la última entrada de cada entidad (siempre seguro: lleva el estado actual)
+  public int collapseSuperseded() {
+    return update("""
+        DELETE FROM change_log c
+        WHERE EXISTS (
+          SELECT 1 FROM change_log n
+          WHERE n.entity_id = c.entity_id AND n.seq > c.seq
+        )
+        """, "change_log").executeUpdate();
+  }
+
+  // 2) Purga DELETEs anteriores a "before"; devuelve el mayor seq purgado (0 si ninguno)
+  public long purgeTombstones(OffsetDateTime before) {
+    var max = em.createNativeQuery("""
+        WITH gone AS (
+          DELETE FROM change_log
+          WHERE op = 'DELETE' AND changed_at < :before
+          RETURNING seq
+        )
+        SELECT COALESCE(MAX(seq), 0) FROM gone
+        """).setParameter("before", before).getSingleResult();
+    return ((Number) max).longValue();
+  }
+
+  public void advanceCompactedThrough(long seq) {
+    update("""
+        UPDATE change_log_state
+        SET compacted_through = GREATEST(compacted_through, :seq)
+        WHERE id = 1
+        """, "change_log_state").setParameter("seq", seq).executeUpdate();
+  }
+}
@@ -0,0 +1,89 @@
+package com.csindila.hyron.sync;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+public class SyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    private static final int DEFAULT_LIMIT = 500;
+    private static final int MAX_LIMIT = 5000;
+
+    private final SyncRepository repo;
+    private final int tombstoneRetentionDays;
+
+    public SyncService(SyncRepository repo,
+            @Value("${hyron.sync.tombstone-retention-days:30}") int tombstoneRetentionDays) {
+        this.repo = repo;
+        this.tombstoneRetentionDays = tombstoneRetentionDays;
+    }
+
+    public long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return 0;
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.parseLong(raw);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Cursor no válido");
+        }
+    }
+
+    // Página de cambios tras "after". Con "resync" = true el cursor es anterior a la
+    // última compactación (se purgaron borrados que no vio) y debe descargar todo de nuevo.
+    // Sin cursor (after = 0) el feed ya contiene el estado actual completo.
+    @Transactional(readOnly = true)
+    public Map<String, Object> changes(long after, Integer limit) {
+        int size = (limit == null) ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        Map<String, Object> res = new HashMap<>();
+        if (after > 0 && after < repo.compactedThrough()) {
+            res.put("resync", true);
+            return res;
+        }
+
+        var items = repo.changesAfter(after, size + 1);
+        boolean hasMore = items.size() > size;
+        if (hasMore)
+            items = items.subList(0, size);
+        long last = items.isEmpty() ? after : (Long) items.get(items.size() - 1).get("seq");
+
+        res.put("resync", false);
+        res.put("changes", items);
+        res.put("cursor", encodeCursor(last));
+        res.put("hasMore", hasMore);
+        return res;
+    }
+
+    public long headSeq() {
+        return repo.headSeq();
+    }
+
+    // Compactación diaria: última entrada por entidad + purga de borrados antiguos
+    @Scheduled(cron = "${hyron.sync.compaction-cron:0 30 3 * * *}")
+    @Transactional
+    public void compact() {
+        int collapsed = repo.collapseSuperseded();
+        long purgedThrough = repo.purgeTombstones(OffsetDateTime.now().minusDays(tombstoneRetentionDays));
+        if (purgedThrough > 0)
+            repo.advanceCompactedThrough(purgedThrough);
+        log.info("change_log compactado: {} entradas sustituidas, borrados purgados hasta seq {}",
+                collapsed, purgedThrough);
+    }
+
+    private static String encodeCursor(long seq) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(seq).getBytes(StandardCharsets.UTF_8));
+    }
+}
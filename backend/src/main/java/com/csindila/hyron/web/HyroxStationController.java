@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.csindila.hyron.stats.LeaderboardIndex;
 import com.csindila.hyron.workout.dto.HyroxStationCreateRequest;
 import com.csindila.hyron.workout.dto.HyroxStationDto;
 import com.csindila.hyron.workout.dto.HyroxStationUpdateRequest;
@@ -33,6 +34,7 @@ public class HyroxStationController {
 
     private final HyroxStationRepository stations;
     private final WorkoutRepository workouts;
+    private final LeaderboardIndex leaderboard;
 
     // Listas estaciones de un workout HYROX
     @GetMapping("/workouts/{workoutId}/stations")
@@ -55,7 +57,9 @@ public class HyroxStationController {
         e.setTiempoParcialSeg(req.tiempoParcialSeg());
         e.setDistanceM(req.distanceM());
         e.setNotas(req.notas());
-        return toDto(stations.save(e));
+        var saved = stations.save(e);
+        leaderboard.refresh(saved.getId());
+        return toDto(saved);
     }
 
     // Editar estación (campos opcionales)
@@ -74,7 +78,9 @@ public class HyroxStationController {
             e.setDistanceM(req.distanceM());
         if (req.notas() != null)
             e.setNotas(req.notas());
-        return toDto(stations.save(e));
+        var saved = stations.save(e);
+        leaderboard.refresh(saved.getId());
+        return toDto(saved);
     }
 
     // Eliminar estación
@@ -82,6 +88,7 @@ public class HyroxStationController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable UUID id) {
         stations.deleteById(id);
+        leaderboard.refresh(id);
     }
 
     // Helpers
@@ -4,10 +4,20 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.csindila.hyron.workout.model.HyroxStationEntry;
 
+import jakarta.persistence.QueryHint;
+
 public interface HyroxStationRepository extends JpaRepository<HyroxStationEntry, UUID> {
 
+    // Cacheable en la región de consultas (si la caché L2 está activa). Hibernate la
+    // invalida al escribir en hyrox_station_entries vía JPA; los borrados en cascada
+    // por FK (fuera de Hibernate) no la invalidan.
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "hyrox-stations-by-workout")
+    })
     List<HyroxStationEntry> findByWorkoutIdOrderByCreatedAtAsc(UUID workoutId);
 }
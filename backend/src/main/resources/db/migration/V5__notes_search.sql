@@ -0,0 +1,21 @@
+-- Búsqueda de texto sobre notas de workouts y estaciones
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 1) tsvector generado (config 'simple': las notas mezclan idiomas y jerga)
+ALTER TABLE workouts
+  ADD COLUMN notas_tsv tsvector
+  GENERATED ALWAYS AS (to_tsvector('simple', coalesce(notas, ''))) STORED;
+
+ALTER TABLE hyrox_station_entries
+  ADD COLUMN notas_tsv tsvector
+  GENERATED ALWAYS AS (to_tsvector('simple', coalesce(notas, ''))) STORED;
+
+-- 2) GIN sobre el tsvector (palabras completas / frases)
+CREATE INDEX IF NOT EXISTS idx_workouts_notas_tsv ON workouts USING gin (notas_tsv);
+CREATE INDEX IF NOT EXISTS idx_hs_notas_tsv ON hyrox_station_entries USING gin (notas_tsv);
+
+-- 3) GIN trigram (fragmentos y faltas de ortografía: "wallball", "kne")
+CREATE INDEX IF NOT EXISTS idx_workouts_notas_trgm ON workouts USING gin (notas gin_trgm_ops)
+  WHERE notas IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_hs_notas_trgm ON hyrox_station_entries USING gin (notas gin_trgm_ops)
+  WHERE notas IS NOT NULL;
@@ -0,0 +1,31 @@
+-- Series temporales por workout (FC, potencia, ritmo) en bloques comprimidos.
+-- Una fila por (workout, canal, bloque de chunk_size muestras) en lugar de una por segundo.
+
+CREATE TABLE IF NOT EXISTS workout_sample_series (
+    workout_id UUID NOT NULL REFERENCES workouts(id) ON DELETE CASCADE,
+    channel VARCHAR(16) NOT NULL,
+    interval_sec INTEGER NOT NULL CHECK (interval_sec > 0),
+    sample_count INTEGER NOT NULL CHECK (sample_count >= 0),
+    chunk_size INTEGER NOT NULL CHECK (chunk_size > 0),
+    PRIMARY KEY (workout_id, channel)
+);
+
+-- min/max/sum/present_count por bloque: permiten agregar bloques enteros sin descomprimir
+-- (con present_count = 0 los tres valen 0 y no significan nada)
+CREATE TABLE IF NOT EXISTS workout_sample_chunks (
+    workout_id UUID NOT NULL,
+    channel VARCHAR(16) NOT NULL,
+    chunk_no INTEGER NOT NULL CHECK (chunk_no >= 0),
+    sample_count INTEGER NOT NULL CHECK (sample_count > 0),
+    present_count INTEGER NOT NULL CHECK (present_count >= 0),
+    min_value INTEGER NOT NULL,
+    max_value INTEGER NOT NULL,
+    sum_value BIGINT NOT NULL,
+    data BYTEA NOT NULL,
+    PRIMARY KEY (workout_id, channel, chunk_no),
+    FOREIGN KEY (workout_id, channel)
+      REFERENCES workout_sample_series(workout_id, channel) ON DELETE CASCADE
+);
+
+-- Los bloques ya van comprimidos (deflate): que TOAST no intente recomprimirlos
+ALTER TABLE workout_sample_chunks ALTER COLUMN data SET STORAGE EXTERNAL;
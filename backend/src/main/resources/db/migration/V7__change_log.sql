@@ -0,0 +1,62 @@
+-- Registro de cambios para sincronización incremental (/api/sync).
+-- Lo escriben triggers en la misma transacción que el cambio, así que también
+-- recoge los borrados en cascada (ON DELETE CASCADE) y cualquier escritura nativa.
+
+CREATE TABLE IF NOT EXISTS change_log (
+    seq BIGSERIAL PRIMARY KEY,
+    entity VARCHAR(16) NOT NULL,          -- WORKOUT | STATION
+    entity_id UUID NOT NULL,
+    workout_id UUID NOT NULL,
+    op VARCHAR(8) NOT NULL,               -- INSERT | UPDATE | DELETE
+    changed_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_log_entity ON change_log(entity_id, seq);
+
+-- Hasta qué seq se han purgado borrados antiguos: cursores anteriores deben resincronizar
+CREATE TABLE IF NOT EXISTS change_log_state (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    compacted_through BIGINT NOT NULL DEFAULT 0
+);
+INSERT INTO change_log_state (id, compacted_through) VALUES (1, 0) ON CONFLICT DO NOTHING;
+
+-- El advisory lock (hasta el commit) serializa a los escritores: los seq quedan
+-- en orden de commit y un lector nunca ve el seq N+1 antes que el N.
+CREATE OR REPLACE FUNCTION log_workout_change() RETURNS trigger AS $$
+BEGIN
+  PERFORM pg_advisory_xact_lock(hashtext('hyron.change_log'));
+  IF TG_OP = 'DELETE' THEN
+    INSERT INTO change_log (entity, entity_id, workout_id, op) VALUES ('WORKOUT', OLD.id, OLD.id, TG_OP);
+  ELSE
+    INSERT INTO change_log (entity, entity_id, workout_id, op) VALUES ('WORKOUT', NEW.id, NEW.id, TG_OP);
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION log_station_change() RETURNS trigger AS $$
+BEGIN
+  PERFORM pg_advisory_xact_lock(hashtext('hyron.change_log'));
+  IF TG_OP = 'DELETE' THEN
+    INSERT INTO change_log (entity, entity_id, workout_id, op) VALUES ('STATION', OLD.id, OLD.workout_id, TG_OP);
+  ELSE
+    INSERT INTO change_log (entity, entity_id, workout_id, op) VALUES ('STATION', NEW.id, NEW.workout_id, TG_OP);
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_workouts_change_log
+  AFTER INSERT OR UPDATE OR DELETE ON workouts
+  FOR EACH ROW EXECUTE FUNCTION log_workout_change();
+
+CREATE TRIGGER trg_hs_change_log
+  AFTER INSERT OR UPDATE OR DELETE ON hyrox_station_entries
+  FOR EACH ROW EXECUTE FUNCTION log_station_change();
+
+-- Datos ya existentes: un INSERT por fila para que un cliente nuevo arranque desde el feed
+INSERT INTO change_log (entity, entity_id, workout_id, op)
+SELECT 'WORKOUT', id, id, 'INSERT' FROM workouts ORDER BY created_at, id;
+
+INSERT INTO change_log (entity, entity_id, workout_id, op)
+SELECT 'STATION', id, workout_id, 'INSERT' FROM hyrox_station_entries ORDER BY created_at, id;
@@ -0,0 +1,63 @@
+-- Archivo de temporadas antiguas (año natural) fuera de las tablas calientes.
+-- Las filas se guardan empaquetadas y comprimidas en un bloque por temporada;
+-- las estadísticas leen agregados ya plegados por día (archive_daily_*).
+
+CREATE TABLE IF NOT EXISTS season_archive_blocks (
+    season INTEGER PRIMARY KEY,
+    workout_count INTEGER NOT NULL,
+    station_count INTEGER NOT NULL,
+    payload BYTEA NOT NULL,
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- El bloque ya va comprimido (gzip)
+ALTER TABLE season_archive_blocks ALTER COLUMN payload SET STORAGE EXTERNAL;
+
+-- Volumen por día y tipo (weekly, calendar, cube sin estación).
+-- srpe_load sin escala fija: la suma plegada es exacta, igual que sobre las filas calientes
+CREATE TABLE IF NOT EXISTS archive_daily_volume (
+    day DATE NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    sessions INTEGER NOT NULL,
+    total_sec BIGINT NOT NULL,
+    distance_km NUMERIC(10,2),
+    srpe_load NUMERIC NOT NULL,
+    PRIMARY KEY (day, type)
+);
+
+-- Parciales por día, tipo y estación (cube con estación, mejores estaciones)
+CREATE TABLE IF NOT EXISTS archive_daily_station (
+    day DATE NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    station hyrox_station NOT NULL,
+    sessions INTEGER NOT NULL,
+    total_sec BIGINT NOT NULL,
+    distance_km NUMERIC(10,3),
+    srpe_load NUMERIC NOT NULL,
+    best_sec INTEGER,
+    PRIMARY KEY (day, type, station)
+);
+
+-- Listado por día de los workouts archivados (modal del calendario) sin descomprimir
+-- el bloque de la temporada
+CREATE TABLE IF NOT EXISTS archive_daily_workouts (
+    day DATE NOT NULL,
+    workout_id UUID NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    duration_sec INTEGER NOT NULL,
+    distance_km NUMERIC(6,2),
+    rpe INTEGER NOT NULL,
+    notas VARCHAR(500),
+    created_at TIMESTAMPTZ,
+    PRIMARY KEY (day, workout_id)
+);
+
+-- Mejor ritmo del día por deporte (RUN/SWIM), con su workout (best-run, personal-bests)
+CREATE TABLE IF NOT EXISTS archive_daily_best (
+    day DATE NOT NULL,
+    kind VARCHAR(16) NOT NULL,
+    workout_id UUID NOT NULL,
+    duration_sec INTEGER NOT NULL,
+    distance_km NUMERIC(6,2) NOT NULL,
+    PRIMARY KEY (day, kind)
+);
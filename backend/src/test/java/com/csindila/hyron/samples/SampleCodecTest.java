@@ -0,0 +1,72 @@
+package com.csindila.hyron.samples;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SampleCodecTest {
+
+    @Test
+    void roundTripWithGapsAndNegativeDeltas() {
+        var values = Arrays.asList(140, 142, null, 139, null, null, 0, 250, 3, Integer.MAX_VALUE, 0, null);
+        assertRoundTrip(values, 0, values.size());
+    }
+
+    @Test
+    void roundTripOfSubRange() {
+        var values = Arrays.asList(null, 100, 90, 95, null, 300, 1);
+        assertRoundTrip(values, 2, 6);
+        assertRoundTrip(values, 0, 1);
+        assertRoundTrip(values, 3, 3);
+    }
+
+    @Test
+    void roundTripRandomSeries() {
+        var rnd = new Random(42);
+        for (int iter = 0; iter < 200; iter++) {
+            int n = rnd.nextInt(SamplesService.CHUNK_SIZE * 2) + 1;
+            var values = new ArrayList<Integer>(n);
+            int v = rnd.nextInt(200);
+            for (int i = 0; i < n; i++) {
+                if (rnd.nextInt(10) == 0) {
+                    values.add(null);
+                    continue;
+                }
+                // Paseo aleatorio con saltos grandes de vez en cuando
+                v = Math.max(0, v + (rnd.nextInt(20) == 0 ? rnd.nextInt(2000) - 1000 : rnd.nextInt(7) - 3));
+                values.add(v);
+            }
+            int from = rnd.nextInt(n);
+            int to = from + rnd.nextInt(n - from + 1);
+            assertRoundTrip(values, from, to);
+        }
+    }
+
+    @Test
+    void smoothSeriesCompresses() {
+        var values = new ArrayList<Integer>();
+        for (int i = 0; i < SamplesService.CHUNK_SIZE; i++)
+            values.add(140 + (i / 30) % 5);
+        var data = SampleCodec.encode(values, 0, values.size());
+        assertTrue(data.length < values.size() / 4, "bloque de " + data.length + " bytes");
+    }
+
+    private static void assertRoundTrip(List<Integer> values, int from, int to) {
+        var data = SampleCodec.encode(values, from, to);
+        var out = new int[to - from];
+        SampleCodec.decode(data, to - from, out);
+
+        var expected = new int[to - from];
+        for (int i = from; i < to; i++) {
+            var v = values.get(i);
+            expected[i - from] = (v == null) ? SampleCodec.MISSING : v;
+        }
+        assertArrayEquals(expected, out);
+    }
+}
@@ -0,0 +1,162 @@
+package com.csindila.hyron.samples;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Ventanas de SamplesService contra una agregación directa de las muestras:
+ * bordes no alineados, cubos que cruzan bloques y la vía rápida (bloque entero
+ * dentro de un cubo, sin descomprimir).
+ */
+class SamplesServiceWindowTest {
+
+    private static final UUID WORKOUT = UUID.randomUUID();
+    private static final int CHUNK = SamplesService.CHUNK_SIZE;
+
+    @Test
+    void unalignedWindowsMatchBruteForce() {
+        var rnd = new Random(7);
+        for (int iter = 0; iter < 100; iter++) {
+            int interval = 1 + rnd.nextInt(3);
+            var repo = new InMemoryRepository(randomSeries(rnd, CHUNK * 3 + rnd.nextInt(CHUNK)), interval);
+            var service = new SamplesService(repo, null);
+
+            long total = (long) repo.values.size() * interval;
+            int from = rnd.nextInt((int) total);
+            int to = from + 1 + rnd.nextInt((int) (total - from));
+            int res = interval * (1 + rnd.nextInt(900));
+
+            var out = service.window(WORKOUT, SampleChannel.HR, from, to, res);
+            assertEquals(bruteForce(repo.values, interval, from, to, res), out.get("rows"),
+                    "interval=" + interval + " from=" + from + " to=" + to + " res=" + res);
+        }
+    }
+
+    @Test
+    void wholeChunksInsideOneBucketAreNotDecoded() {
+        var repo = new InMemoryRepository(randomSeries(new Random(3), CHUNK * 4), 1);
+        var service = new SamplesService(repo, null);
+
+        // Un cubo de 4 bloques: todo sale de min/max/sum guardados
+        var out = service.window(WORKOUT, SampleChannel.HR, 0, null, CHUNK * 4);
+        assertTrue(repo.decoded.isEmpty(), "decodificados: " + repo.decoded);
+        assertEquals(bruteForce(repo.values, 1, 0, CHUNK * 4, CHUNK * 4), out.get("rows"));
+
+        // Ventana que corta el primer y el último bloque: sólo esos se decodifican
+        repo.decoded.clear();
+        out = service.window(WORKOUT, SampleChannel.HR, 17, CHUNK * 4 - 5, CHUNK * 4);
+        assertEquals(Set.of(0, 3), repo.decoded);
+        assertEquals(bruteForce(repo.values, 1, 17, CHUNK * 4 - 5, CHUNK * 4), out.get("rows"));
+    }
+
+    @Test
+    void bucketBoundaryInsideChunkForcesDecode() {
+        var repo = new InMemoryRepository(randomSeries(new Random(5), CHUNK * 2), 1);
+        var service = new SamplesService(repo, null);
+
+        // Desde 100 con cubos de un bloque: cada bloque cae en dos cubos
+        var out = service.window(WORKOUT, SampleChannel.HR, 100, null, CHUNK);
+        assertFalse(repo.decoded.isEmpty());
+        assertEquals(bruteForce(repo.values, 1, 100, CHUNK * 2, CHUNK), out.get("rows"));
+    }
+
+    // Misma salida que Buckets.rows(): [t, min, max, avg] de los cubos con datos
+    private static List<List<Object>> bruteForce(List<Integer> values, int interval, long from, long to, long res) {
+        int buckets = (int) ((to - from + res - 1) / res);
+        var rows = new ArrayList<List<Object>>();
+        for (int b = 0; b < buckets; b++) {
+            long t0 = from + b * res, t1 = Math.min(to, t0 + res);
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE, n = 0;
+            long sum = 0;
+            for (int i = 0; i < values.size(); i++) {
+                long t = (long) i * interval;
+                var v = values.get(i);
+                if (t < t0 || t >= t1 || v == null)
+                    continue;
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+                sum += v;
+                n++;
+            }
+            if (n > 0)
+                rows.add(List.of(t0, min, max, Math.round(sum * 100.0 / n) / 100.0));
+        }
+        return rows;
+    }
+
+    private static List<Integer> randomSeries(Random rnd, int n) {
+        var values = new ArrayList<Integer>(n);
+        int v = 120;
+        for (int i = 0; i < n; i++) {
+            if (rnd.nextInt(15) == 0) {
+                values.add(null);
+            } else {
+                v = Math.max(0, v + rnd.nextInt(9) - 4);
+                values.add(v);
+            }
+        }
+        return values;
+    }
+
+    // Guarda los bloques igual que SamplesService.write y anota cuáles se leen enteros
+    private static final class InMemoryRepository extends SamplesRepository {
+        final List<Integer> values;
+        final int interval;
+        final List<Object[]> stats = new ArrayList<>();
+        final List<byte[]> data = new ArrayList<>();
+        final Set<Integer> decoded = new HashSet<>();
+
+        InMemoryRepository(List<Integer> values, int interval) {
+            this.values = values;
+            this.interval = interval;
+            for (int start = 0, no = 0; start < values.size(); start += CHUNK, no++) {
+                int end = Math.min(values.size(), start + CHUNK);
+                int present = 0, min = 0, max = 0;
+                long sum = 0;
+                for (int i = start; i < end; i++) {
+                    var v = values.get(i);
+                    if (v == null)
+                        continue;
+                    min = (present == 0) ? v : Math.min(min, v);
+                    max = (present == 0) ? v : Math.max(max, v);
+                    sum += v;
+                    present++;
+                }
+                stats.add(new Object[] { no, end - start, present, min, max, sum });
+                data.add(SampleCodec.encode(values, start, end));
+            }
+        }
+
+        @Override
+        public Optional<int[]> seriesHeader(UUID workoutId, SampleChannel channel) {
+            return Optional.of(new int[] { interval, values.size(), CHUNK });
+        }
+
+        @Override
+        public List<Object[]> chunkStats(UUID workoutId, SampleChannel channel, int c0, int c1) {
+            return stats.subList(c0, Math.min(stats.size(), c1 + 1));
+        }
+
+        @Override
+        public List<Object[]> chunkData(UUID workoutId, SampleChannel channel, Collection<Integer> chunkNos) {
+            var rows = new ArrayList<Object[]>();
+            for (int no : chunkNos) {
+                decoded.add(no);
+                rows.add(new Object[] { no, stats.get(no)[1], data.get(no) });
+            }
+            return rows;
+        }
+    }
+}
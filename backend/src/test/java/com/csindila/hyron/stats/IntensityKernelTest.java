@@ -0,0 +1,105 @@
+package com.csindila.hyron.stats;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import jdk.incubator.vector.IntVector;
+
+/**
+ * El kernel vectorial debe dar exactamente lo mismo que el escalar: longitudes que
+ * no son múltiplo de los carriles, offsets "from" distintos de 0 y umbrales raros.
+ * Necesita --add-modules=jdk.incubator.vector (ya lo pone build.gradle.kts en Test).
+ */
+class IntensityKernelTest {
+
+    private static final int LANES = IntVector.SPECIES_PREFERRED.length();
+
+    private final IntensityKernel scalar = new ScalarIntensityKernel();
+    private final IntensityKernel vector = new VectorIntensityKernel();
+
+    @Test
+    void vectorMatchesScalarOnRandomRanges() {
+        var rnd = new Random(2024);
+        var zones = new IntensityZones(150, 170, 4, 7);
+        for (int iter = 0; iter < 500; iter++) {
+            int n = rnd.nextInt(LANES * 6 + 3);
+            int from = (n == 0) ? 0 : rnd.nextInt(n + 1);
+            int to = from + rnd.nextInt(n - from + 1);
+            compare(randomInputs(rnd, n), from, to, zones);
+        }
+    }
+
+    @Test
+    void vectorMatchesScalarAroundLaneBoundaries() {
+        var rnd = new Random(7);
+        var zones = new IntensityZones(150, 170, 4, 7);
+        for (int n = 0; n <= LANES * 3 + 1; n++) {
+            var in = randomInputs(rnd, n + 5);
+            for (int from = 0; from <= Math.min(5, n); from++)
+                compare(in, from, from + n, zones);
+        }
+    }
+
+    @Test
+    void vectorMatchesScalarOnThresholdEdges() {
+        var rnd = new Random(11);
+        // Umbrales exactos, y RPE fácil/duro solapados (fácil tiene prioridad)
+        for (var zones : new IntensityZones[] {
+                new IntensityZones(150, 170, 4, 7),
+                new IntensityZones(150, 151, 6, 5),
+                new IntensityZones(1, 250, 10, 1) }) {
+            int n = LANES * 8 + 3;
+            var in = randomInputs(rnd, n);
+            for (int i = 0; i < n; i++) {
+                int[] edges = { 0, zones.hrLt1() - 1, zones.hrLt1(), zones.hrLt2() - 1, zones.hrLt2() };
+                in[1][i] = edges[rnd.nextInt(edges.length)];
+            }
+            compare(in, 1, n, zones);
+        }
+    }
+
+    @Test
+    void foldMatchesDirectSums() {
+        int[] dur = { 600, 1200, 1800, 300, 900, 100 };
+        int[] zone = { 0, 1, 2, 3, 5, 4 };
+        long[] out = new long[IntensityKernel.OUT_SIZE];
+        IntensityKernel.fold(dur, zone, 0, dur.length, out);
+        assertArrayEquals(new long[] { 900, 1300, 2700, 3, 3 }, out);
+
+        Arrays.fill(out, 0);
+        IntensityKernel.fold(dur, zone, 2, 5, out);
+        assertArrayEquals(new long[] { 300, 0, 2700, 1, 2 }, out);
+    }
+
+    // Compara zonas (y que no se escriba fuera de [from, to)) y el reparto final
+    private void compare(int[][] in, int from, int to, IntensityZones zones) {
+        int n = in[0].length;
+        int[] zs = new int[n], zv = new int[n];
+        Arrays.fill(zs, -1);
+        Arrays.fill(zv, -1);
+        scalar.classify(in[1], in[2], from, to, zones, zs);
+        vector.classify(in[1], in[2], from, to, zones, zv);
+        var msg = "n=" + n + " from=" + from + " to=" + to + " zones=" + zones;
+        assertArrayEquals(zs, zv, msg);
+
+        long[] os = new long[IntensityKernel.OUT_SIZE], ov = new long[IntensityKernel.OUT_SIZE];
+        IntensityKernel.fold(in[0], zs, from, to, os);
+        IntensityKernel.fold(in[0], zv, from, to, ov);
+        assertArrayEquals(os, ov, msg);
+    }
+
+    // [durationSec, hr (0 = sin FC), rpe]
+    private static int[][] randomInputs(Random rnd, int n) {
+        int[] dur = new int[n], hr = new int[n], rpe = new int[n];
+        for (int i = 0; i < n; i++) {
+            dur[i] = 60 + rnd.nextInt(6 * 3600);
+            hr[i] = rnd.nextInt(3) == 0 ? 0 : 100 + rnd.nextInt(100);
+            rpe[i] = 1 + rnd.nextInt(10);
+        }
+        return new int[][] { dur, hr, rpe };
+    }
+}